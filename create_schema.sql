@@ -25,10 +25,18 @@ CREATE TABLE events (
     start_time DATETIME NOT NULL,
     end_time DATETIME NOT NULL,
     category VARCHAR(100) NOT NULL,
+    -- case-folded copy of category so lookups can seek on an index instead of scanning LOWER(category)
+    category_key VARCHAR(100) GENERATED ALWAYS AS (LOWER(category)) STORED NOT NULL,
     organizer_id INT NOT NULL,
+    max_attendees INT NULL,
+    -- bumped by every update; exposed as the event ETag for optimistic concurrency
+    version INT NOT NULL DEFAULT 0,
+    -- rows in registrations for this event, kept in step by the application; read by the etag version probe
+    registration_count INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (organizer_id) REFERENCES users(user_id) ON DELETE CASCADE
+    FOREIGN KEY (organizer_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    INDEX idx_events_category_key_start (category_key, start_time)
 );
 
 -- Create registrations table (formerly event_attendees)
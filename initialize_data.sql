@@ -55,4 +55,7 @@ VALUES
 (6, 14), -- Diana Garcia -> International Students Mixer
 (7, 15), -- Ethan Miller -> Thanksgiving Potluck
 (10, 16), -- Fiona Rodriguez -> Finals Week Stress Relief
-(11, 1); -- George Martinez -> Spring Tech Fair 
\ No newline at end of file
+(11, 1); -- George Martinez -> Spring Tech Fair 
+
+-- bulk inserts bypass the application, so set the registration counts it normally maintains
+UPDATE events SET registration_count = (SELECT COUNT(*) FROM registrations r WHERE r.event_id = events.event_id), updated_at = updated_at;
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Starts the server, waits for Spring Boot's "Started" line and reports
+# startup time plus resident set size, then stops the process.
+#
+# usage: scripts/measure-startup.sh [runs] -- <java command...>
+# e.g.   scripts/measure-startup.sh 5 -- java -jar target/sjsu-event-manager-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+runs=${1:-5}
+shift
+[ "${1:-}" = "--" ] && shift
+
+for i in $(seq 1 "$runs"); do
+    log=$(mktemp)
+    "$@" >"$log" 2>&1 &
+    pid=$!
+    until grep -q "Started .* in" "$log"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "run $i: process exited before startup completed" >&2
+            tail -20 "$log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    # sampled right after startup, before any request has warmed lazy beans
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    started=$(grep -o "Started .* in [0-9.]* seconds (process running for [0-9.]*)" "$log")
+    echo "run $i: ${started#Started } rss=$((rss_kb / 1024))MB"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+done
@@ -2,8 +2,10 @@ package edu.sjsu.cs157a.sjsu_event_manager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SjsuEventManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,107 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * a small in-process cache: least recently used entries are evicted past maxEntries, and entries expire ttlMs
+ * after they were stored
+ * callers that read from the database and then put() pass the generation() they saw before the read, so a
+ * value loaded before an invalidation is never stored after it
+ */
+public class BoundedTtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public BoundedTtlCache(String name, long ttlMs, int maxEntries, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("near.cache.requests").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("near.cache.requests").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("near.cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("near.cache.size", this, BoundedTtlCache::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("near.cache.hit.ratio", this, BoundedTtlCache::hitRatio).tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * the cached value, or null when it is missing or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * store a value loaded after generation() returned loadGeneration, unless something was invalidated since
+     */
+    public synchronized void put(K key, V value, long loadGeneration) {
+        if (loadGeneration == generation) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * drop every entry whose value matches, e.g. the rows that embed a changed row
+     */
+    public synchronized void invalidateIf(Predicate<? super V> stale) {
+        generation++;
+        entries.values().removeIf(entry -> stale.test(entry.value()));
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+}
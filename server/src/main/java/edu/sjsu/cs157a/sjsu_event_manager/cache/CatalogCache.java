@@ -0,0 +1,66 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * the public catalog reads (all events, one event, events by category) behind stale-while-revalidate caches
+ * every load goes through the database circuit breaker; local writes call invalidateEvent()
+ */
+@Component
+public class CatalogCache {
+
+    // key of the unfiltered list in the list cache; category keys are never empty
+    private static final String ALL_EVENTS = "";
+
+    private final StaleWhileRevalidateCache<String, List<EventResponseDTO>> eventLists;
+    private final StaleWhileRevalidateCache<Integer, EventResponseDTO> events;
+
+    public CatalogCache(@Value("${sjsu.app.catalogCache.freshMs:2000}") long freshMs,
+                        @Value("${sjsu.app.catalogCache.staleWhileRevalidateMs:10000}") long staleWhileRevalidateMs,
+                        @Value("${sjsu.app.catalogCache.staleIfErrorMs:300000}") long staleIfErrorMs,
+                        @Value("${sjsu.app.catalogCache.maxEntries:1000}") int maxEntries,
+                        DatabaseCircuitBreaker circuitBreaker,
+                        MeterRegistry meterRegistry) {
+        // refreshes mostly wait on the database, and there is at most one per key
+        ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.eventLists = new StaleWhileRevalidateCache<>("eventLists", freshMs, staleWhileRevalidateMs, staleIfErrorMs,
+                maxEntries, circuitBreaker, refreshExecutor, meterRegistry);
+        this.events = new StaleWhileRevalidateCache<>("events", freshMs, staleWhileRevalidateMs, staleIfErrorMs,
+                maxEntries, circuitBreaker, refreshExecutor, meterRegistry);
+    }
+
+    public List<EventResponseDTO> getAllEvents(Supplier<List<EventResponseDTO>> loader) {
+        return eventLists.get(ALL_EVENTS, () -> List.copyOf(loader.get()));
+    }
+
+    public List<EventResponseDTO> getEventsByCategory(String category, Supplier<List<EventResponseDTO>> loader) {
+        return eventLists.get(category.toLowerCase(Locale.ROOT), () -> List.copyOf(loader.get()));
+    }
+
+    public EventResponseDTO getEvent(Integer eventId, Supplier<EventResponseDTO> loader) {
+        return events.get(eventId, loader);
+    }
+
+    /**
+     * an event or its registrations changed: its detail and every list are reloaded before they are served again
+     * the other events' details stay cached, and nothing is deleted, so stale-if-error still has a copy to serve
+     */
+    public void invalidateEvent(Integer eventId) {
+        events.invalidate(eventId);
+        eventLists.invalidateAll();
+    }
+
+    public void invalidate() {
+        eventLists.invalidateAll();
+        events.invalidateAll();
+    }
+}
@@ -0,0 +1,168 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * circuit breaker for catalog reads against the database
+ * the last windowSize calls are kept in a ring; once minimumCalls have been seen and the share of failed
+ * or slow calls reaches failureRateThreshold percent, the circuit opens and calls fail fast for openMs
+ * after that a single trial call decides whether it closes again
+ * each call carries the permit it was admitted with, so a call admitted before the circuit opened (or before
+ * it last changed state) cannot close or reopen it, nor count in a window it was not part of
+ * only DataAccessExceptions count as failures: a missing row is an answer, not an outage
+ */
+@Component
+public class DatabaseCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    // true = failed or slow
+    private final boolean[] window;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+
+    /**
+     * what a call was admitted under: the state period (bumped on every transition) and whether it is the trial call
+     */
+    private record Permit(long period, boolean trial) {
+    }
+
+    private State state = State.CLOSED;
+    private long period;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public DatabaseCircuitBreaker(@Value("${sjsu.app.dbCircuitBreaker.windowSize:20}") int windowSize,
+                                  @Value("${sjsu.app.dbCircuitBreaker.minimumCalls:10}") int minimumCalls,
+                                  @Value("${sjsu.app.dbCircuitBreaker.failureRateThreshold:50}") int failureRateThreshold,
+                                  @Value("${sjsu.app.dbCircuitBreaker.slowCallMs:1000}") long slowCallMs,
+                                  @Value("${sjsu.app.dbCircuitBreaker.openMs:5000}") long openMs,
+                                  MeterRegistry meterRegistry) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallMs * 1_000_000L;
+        this.openNanos = openMs * 1_000_000L;
+        Gauge.builder("db.circuit.state", this, breaker -> breaker.getState().ordinal())
+             .description("0 closed, 1 half-open, 2 open")
+             .register(meterRegistry);
+    }
+
+    /**
+     * run a database read through the breaker
+     * throws ServiceUnavailableException without running it while the circuit is open
+     */
+    public <T> T call(Supplier<T> action) {
+        Permit permit = tryAcquirePermission();
+        if (permit == null) {
+            throw new ServiceUnavailableException("Database is temporarily unavailable");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            record(permit, System.nanoTime() - start >= slowCallNanos);
+            return result;
+        } catch (DataAccessException e) {
+            record(permit, true);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            record(permit, System.nanoTime() - start >= slowCallNanos);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // null while the circuit is open, or half-open with the trial call still running
+    private synchronized Permit tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return null;
+            }
+            transition(State.HALF_OPEN);
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return null;
+            }
+            trialInFlight = true;
+            return new Permit(period, true);
+        }
+        return new Permit(period, false);
+    }
+
+    private synchronized void record(Permit permit, boolean failed) {
+        if (permit.period() != period) {
+            // admitted before the circuit last changed state
+            return;
+        }
+        if (permit.trial()) {
+            trialInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                log.info("Database circuit closed");
+                transition(State.CLOSED);
+                resetWindow();
+            }
+            return;
+        }
+
+        if (windowCalls == window.length) {
+            if (window[windowPosition]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+
+        if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+            open();
+        }
+    }
+
+    private void open() {
+        log.warn("Database circuit opened after {} failed or slow calls out of {}", windowFailures, windowCalls);
+        transition(State.OPEN);
+        openedAt = System.nanoTime();
+        resetWindow();
+    }
+
+    private void transition(State next) {
+        state = next;
+        period++;
+    }
+
+    private void resetWindow() {
+        windowPosition = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
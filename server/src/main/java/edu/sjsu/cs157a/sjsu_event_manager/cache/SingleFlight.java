@@ -0,0 +1,82 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * coalesces concurrent identical reads: the first caller for a key runs the query, callers arriving while it
+ * is in flight wait for and share its result (or its exception)
+ * nothing is remembered once the call completes, so this never serves anything older than a read
+ * that was already running when the caller arrived
+ * calls inside a read-write transaction are never coalesced, so they keep seeing their own writes
+ */
+@Component
+public class SingleFlight {
+
+    private record Flight(String name, Object key) {
+    }
+
+    private final Map<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * run call for (name, key), or join the identical call already in flight
+     * name identifies the query and also tags the metrics; key holds its arguments
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> call) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return call.get();
+        }
+
+        Flight flight = new Flight(name, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flight, mine);
+        Counter[] calls = counters(name);
+        if (running != null) {
+            calls[1].increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        calls[0].increment();
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    // [executed, coalesced]
+    private Counter[] counters(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter[] {
+            Counter.builder("singleflight.calls").tag("flight", n).tag("result", "executed").register(meterRegistry),
+            Counter.builder("singleflight.calls").tag("flight", n).tag("result", "coalesced").register(meterRegistry)
+        });
+    }
+}
@@ -0,0 +1,240 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * a read-through cache that prefers a slightly stale answer over waiting for, or failing on, the database
+ *
+ * an entry younger than freshMs is served as is. up to staleWhileRevalidateMs later it is still served, while
+ * one background refresh per key reloads it. older entries are reloaded inline, and if that load fails
+ * because the database is down (or the circuit is open) an entry up to staleIfErrorMs past fresh is served instead
+ *
+ * concurrent loads of one key are coalesced: callers that miss while a load is running wait for it instead of
+ * querying again. invalidate() does not delete entries; it marks them outdated, so they are reloaded before
+ * being served again but remain available as the stale-if-error fallback
+ */
+public class StaleWhileRevalidateCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    // evict the oldest of this many entries when the cache is full
+    private static final int EVICTION_SAMPLE = 8;
+
+    /**
+     * startedAt and invalidatedAt are ticks of the cache's invalidation clock: the entry is outdated when it was
+     * invalidated after its load started. a null value only carries an invalidation for a key not loaded yet
+     */
+    private record Entry<V>(V value, long loadedAt, long startedAt, long invalidatedAt) {
+
+        Entry<V> invalidated(long tick) {
+            return new Entry<>(value, loadedAt, startedAt, tick);
+        }
+    }
+
+    private record Load<V>(CompletableFuture<V> result, long startedAt) {
+    }
+
+    private final String name;
+    private final long freshNanos;
+    private final long staleWhileRevalidateNanos;
+    private final long staleIfErrorNanos;
+    private final int maxEntries;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final Executor refreshExecutor;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, Load<V>> loading = new ConcurrentHashMap<>();
+    // ticks on every invalidation, so a load that started before a write can tell its result is outdated
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long allInvalidatedAt;
+
+    private final Counter freshHits;
+    private final Counter staleWhileRevalidating;
+    private final Counter staleOnError;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public StaleWhileRevalidateCache(String name, long freshMs, long staleWhileRevalidateMs, long staleIfErrorMs, int maxEntries,
+                                     DatabaseCircuitBreaker circuitBreaker, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.freshNanos = freshMs * 1_000_000L;
+        this.staleWhileRevalidateNanos = staleWhileRevalidateMs * 1_000_000L;
+        this.staleIfErrorNanos = staleIfErrorMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+        this.circuitBreaker = circuitBreaker;
+        this.refreshExecutor = refreshExecutor;
+        this.freshHits = counter(meterRegistry, "fresh");
+        this.staleWhileRevalidating = counter(meterRegistry, "stale");
+        this.staleOnError = counter(meterRegistry, "stale_on_error");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catalog.cache.requests")
+                      .tag("cache", name)
+                      .tag("result", result)
+                      .register(meterRegistry);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.value() == null) {
+            entry = null;
+        }
+        long now = System.nanoTime();
+        if (entry != null && !isOutdated(entry)) {
+            long age = now - entry.loadedAt();
+            if (age < freshNanos) {
+                freshHits.increment();
+                return entry.value();
+            }
+            if (age < freshNanos + staleWhileRevalidateNanos) {
+                staleWhileRevalidating.increment();
+                refreshInBackground(key, loader);
+                return entry.value();
+            }
+        }
+
+        misses.increment();
+        try {
+            return load(key, loader);
+        } catch (DataAccessException | ServiceUnavailableException e) {
+            if (entry != null && now - entry.loadedAt() < freshNanos + staleIfErrorNanos) {
+                staleOnError.increment();
+                log.warn("Serving stale {} entry for {}: {}", name, key, e.getMessage());
+                return entry.value();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * mark one key outdated: it is reloaded before it is served again, and kept only as a stale-if-error fallback
+     */
+    public void invalidate(K key) {
+        long tick = clock.incrementAndGet();
+        entries.compute(key, (k, current) -> current != null ? current.invalidated(tick) : new Entry<>(null, 0, 0, tick));
+    }
+
+    /**
+     * mark every key outdated, as invalidate(key) does
+     */
+    public void invalidateAll() {
+        allInvalidatedAt = clock.incrementAndGet();
+    }
+
+    private boolean isOutdated(Entry<V> entry) {
+        return entry.startedAt() < Math.max(entry.invalidatedAt(), allInvalidatedAt);
+    }
+
+    /**
+     * load the key, or wait for the load already running when it started no earlier than this caller arrived
+     * an older running load may predate a write the caller has to see, so the caller waits for it to finish and
+     * then loads (or joins the next load) again; at most one load per key runs at a time
+     */
+    private V load(K key, Supplier<V> loader) {
+        long arrivedAt = clock.get();
+        while (true) {
+            Load<V> mine = new Load<>(new CompletableFuture<>(), clock.get());
+            Load<V> running = loading.putIfAbsent(key, mine);
+            if (running == null) {
+                return run(key, loader, mine);
+            }
+            if (running.startedAt() >= arrivedAt) {
+                coalesced.increment();
+                return await(running);
+            }
+            running.result().handle((value, failure) -> null).join();
+        }
+    }
+
+    private V await(Load<V> load) {
+        try {
+            return load.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private V run(K key, Supplier<V> loader, Load<V> load) {
+        try {
+            V value = circuitBreaker.call(loader);
+            store(key, value, load.startedAt());
+            load.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    private void store(K key, V value, long startedAt) {
+        entries.compute(key, (k, current) -> {
+            if (current != null && current.value() != null && current.startedAt() > startedAt) {
+                // a later load already finished
+                return current;
+            }
+            // an invalidation during the load carries over, so the value is only kept as a fallback
+            return new Entry<>(value, System.nanoTime(), startedAt, current != null ? current.invalidatedAt() : 0);
+        });
+        if (entries.size() > maxEntries) {
+            evictOldest();
+        }
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader) {
+        Load<V> mine = new Load<>(new CompletableFuture<>(), clock.get());
+        if (loading.putIfAbsent(key, mine) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    run(key, loader, mine);
+                } catch (RuntimeException e) {
+                    log.debug("Background refresh of {} entry for {} failed: {}", name, key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(key, mine);
+            mine.result().completeExceptionally(e);
+        }
+    }
+
+    private void evictOldest() {
+        K oldestKey = null;
+        long oldestLoadedAt = Long.MAX_VALUE;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE && iterator.hasNext(); i++) {
+            Map.Entry<K, Entry<V>> candidate = iterator.next();
+            if (candidate.getValue().loadedAt() < oldestLoadedAt) {
+                oldestKey = candidate.getKey();
+                oldestLoadedAt = candidate.getValue().loadedAt();
+            }
+        }
+        if (oldestKey != null) {
+            entries.remove(oldestKey);
+        }
+    }
+}
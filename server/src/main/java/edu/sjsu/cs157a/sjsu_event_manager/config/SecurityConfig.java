@@ -53,6 +53,10 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/events/**").permitAll()
+                // the management port only listens on loopback, see management.server.address
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                // errors are dispatched here with the original status; securing it would turn them into 401s
+                .requestMatchers("/error").permitAll()
                 .anyRequest().authenticated()
             );
 
@@ -0,0 +1,42 @@
+package edu.sjsu.cs157a.sjsu_event_manager.config;
+
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.HeavyHitterInterceptor;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.RepositoryCallCountInterceptor;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.TimedJacksonHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final HeavyHitterInterceptor heavyHitterInterceptor;
+    private final RepositoryCallCountInterceptor repositoryCallCountInterceptor;
+
+    public WebConfig(HeavyHitterInterceptor heavyHitterInterceptor,
+                     RepositoryCallCountInterceptor repositoryCallCountInterceptor) {
+        this.heavyHitterInterceptor = heavyHitterInterceptor;
+        this.repositoryCallCountInterceptor = repositoryCallCountInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(heavyHitterInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(repositoryCallCountInterceptor).addPathPatterns("/api/**");
+    }
+
+    // time JSON serialization for the Server-Timing header
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonHttpMessageConverter)) {
+                converters.set(i, new TimedJacksonHttpMessageConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package edu.sjsu.cs157a.sjsu_event_manager.controller;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.HotKeyDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.MessageResponse;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.RouteLatencyDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.SqlStatementStatsDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ConflictException;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ResourceNotFoundException;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.FlightRecorderService;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.HeavyHitters;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.LatencyHistograms;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.SqlStatementStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+public class AdminController {
+
+    private static final int MAX_HOT_KEYS = 100;
+
+    private static final int MAX_SQL_STATEMENTS = 200;
+    private static final long MAX_RECORDING_MINUTES = 24 * 60;
+
+    private final HeavyHitters heavyHitters;
+    private final FlightRecorderService flightRecorder;
+    private final LatencyHistograms latencyHistograms;
+    private final SqlStatementStats sqlStatementStats;
+
+    @Autowired
+    public AdminController(HeavyHitters heavyHitters, FlightRecorderService flightRecorder,
+                           LatencyHistograms latencyHistograms, SqlStatementStats sqlStatementStats) {
+        this.heavyHitters = heavyHitters;
+        this.flightRecorder = flightRecorder;
+        this.latencyHistograms = latencyHistograms;
+        this.sqlStatementStats = sqlStatementStats;
+    }
+
+    // Hottest events, endpoints and users over the sliding window (estimated request counts)
+    @GetMapping("/hot-keys")
+    public ResponseEntity<?> getHotKeys(@RequestParam(required = false) String dimension,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        int n = Math.max(1, Math.min(limit, MAX_HOT_KEYS));
+        Map<String, List<HotKeyDTO>> hotKeys = new LinkedHashMap<>();
+        if (dimension != null) {
+            try {
+                HeavyHitters.Dimension requested = HeavyHitters.Dimension.valueOf(dimension.toUpperCase(Locale.ROOT));
+                hotKeys.put(requested.name().toLowerCase(Locale.ROOT), heavyHitters.top(requested, n));
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Unknown dimension: " + dimension));
+            }
+        } else {
+            for (HeavyHitters.Dimension each : HeavyHitters.Dimension.values()) {
+                hotKeys.put(each.name().toLowerCase(Locale.ROOT), heavyHitters.top(each, n));
+            }
+        }
+        return ResponseEntity.ok(hotKeys);
+    }
+
+    // Latency percentiles per route since startup or the last reset, from the HDR histograms
+    @GetMapping("/latency")
+    public ResponseEntity<List<RouteLatencyDTO>> getLatency() {
+        return ResponseEntity.ok(latencyHistograms.snapshot());
+    }
+
+    @PostMapping("/latency/reset")
+    public ResponseEntity<?> resetLatency() {
+        latencyHistograms.reset();
+        return ResponseEntity.ok(new MessageResponse("Latency histograms reset"));
+    }
+
+    // Most expensive SQL statements by fingerprint; sort by total (default), calls, mean, max or rows
+    @GetMapping("/sql-stats")
+    public ResponseEntity<?> getSqlStats(@RequestParam(defaultValue = "total") String sort,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        int n = Math.max(1, Math.min(limit, MAX_SQL_STATEMENTS));
+        try {
+            List<SqlStatementStatsDTO> statements = sqlStatementStats.top(n, sort);
+            return ResponseEntity.ok(statements);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/sql-stats/reset")
+    public ResponseEntity<?> resetSqlStats() {
+        sqlStatementStats.reset();
+        return ResponseEntity.ok(new MessageResponse("SQL statistics reset"));
+    }
+
+    // Start an on-demand flight recording ("default" settings are cheap enough to leave on, "profile" samples more)
+    @PostMapping("/recordings/start")
+    public ResponseEntity<?> startRecording(@RequestParam(defaultValue = "default") String settings,
+                                            @RequestParam(defaultValue = "30") long maxAgeMinutes) {
+        if (!settings.equals("default") && !settings.equals("profile")) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Unknown settings: " + settings));
+        }
+        try {
+            long minutes = Math.max(1, Math.min(maxAgeMinutes, MAX_RECORDING_MINUTES));
+            flightRecorder.start(settings, Duration.ofMinutes(minutes));
+            return ResponseEntity.ok(new MessageResponse("Flight recording started"));
+        } catch (ConflictException e) {
+            return ResponseEntity.status(409).body(new MessageResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new MessageResponse("Error starting recording: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/recordings/stop")
+    public ResponseEntity<?> stopRecording() {
+        try {
+            flightRecorder.stop();
+            return ResponseEntity.ok(new MessageResponse("Flight recording stopped"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // Download what the recording holds so far as a .jfr file, for JDK Mission Control or `jfr print`
+    @GetMapping("/recordings/dump")
+    public ResponseEntity<?> dumpRecording() {
+        try {
+            Path file = flightRecorder.dump();
+            long size = Files.size(file);
+            // the temporary file goes away once the response has been streamed
+            InputStreamResource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recording.jfr\"")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(size)
+                    .body(body);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(500).body(new MessageResponse("Error dumping recording: " + e.getMessage()));
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package edu.sjsu.cs157a.sjsu_event_manager.controller;
 
+import edu.sjsu.cs157a.sjsu_event_manager.dto.CategorySummaryDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventDetailDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventPatchDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.dto.EventRequestDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.dto.EventResponseDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.dto.MessageResponse;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.UserInfoResponse;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.PreconditionFailedException;
 import edu.sjsu.cs157a.sjsu_event_manager.exception.ResourceNotFoundException;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ServiceUnavailableException;
+import edu.sjsu.cs157a.sjsu_event_manager.model.EventVersion;
 import edu.sjsu.cs157a.sjsu_event_manager.model.User;
 import edu.sjsu.cs157a.sjsu_event_manager.repository.UserRepository;
 import edu.sjsu.cs157a.sjsu_event_manager.service.EventService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import edu.sjsu.cs157a.sjsu_event_manager.exception.ConflictException;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
@@ -32,6 +42,17 @@ public class EventController {
     private final EventService eventService;
     private final UserRepository userRepository;
 
+    // Cache-Control for the anonymous catalog reads; responses carry validators either way
+    @Value("${sjsu.app.catalogListCacheControl:no-cache}")
+    private String listCacheControl;
+
+    @Value("${sjsu.app.catalogDetailCacheControl:no-cache}")
+    private String detailCacheControl;
+
+    // most events one multi-get (?ids=) or bulk status check may ask for
+    @Value("${sjsu.app.eventBatch.maxIds:100}")
+    private int maxIdsPerRequest;
+
     @Autowired
     public EventController(EventService eventService, UserRepository userRepository) {
         this.eventService = eventService;
@@ -39,21 +60,120 @@ public class EventController {
     }
 
     @GetMapping
-    public List<EventResponseDTO> getAllEvents() {
-        return eventService.getAllEvents();
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String category,
+                                          @RequestParam(required = false) List<Integer> ids,
+                                          @RequestHeader HttpHeaders requestHeaders) {
+        try {
+            if (ids != null) {
+                return getEventsByIds(ids, category, requestHeaders);
+            }
+            boolean byCategory = category != null && !category.isBlank();
+            // answer revalidations from the version probe before running the full query
+            // without a probe (database unavailable) the cached list is served with its etag only
+            List<EventVersion> versions = (byCategory
+                    ? eventService.getEventVersionsByCategory(category.trim())
+                    : eventService.getEventVersions()).orElse(null);
+            String probedTag = versions != null ? EventETags.ofVersions(versions) : null;
+            if (probedTag != null && EventETags.isNotModified(requestHeaders, probedTag)) {
+                return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), listCacheControl, probedTag).build();
+            }
+
+            List<EventResponseDTO> events = byCategory
+                    ? eventService.getEventsByCategory(category.trim())
+                    : eventService.getAllEvents();
+            return validators(ResponseEntity.ok(), listCacheControl, EventETags.ofEvents(events)).body(events);
+        } catch (ServiceUnavailableException ex) {
+            // the circuit is open and there is no cached copy to fall back on
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .body(new MessageResponse(ex.getMessage()));
+        }
+    }
+
+    // Several events by id (?ids=3,1,2), in request order; unknown ids are left out
+    private ResponseEntity<?> getEventsByIds(List<Integer> ids, String category, HttpHeaders requestHeaders) {
+        if (category != null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Filter by either ids or category, not both"));
+        }
+        // empty entries (?ids=1,,2) bind as nulls and do not count towards the limit
+        List<Integer> eventIds = ids.stream().filter(Objects::nonNull).toList();
+        if (eventIds.isEmpty() || eventIds.size() > maxIdsPerRequest) {
+            return ResponseEntity.badRequest()
+                                 .body(new MessageResponse("Between 1 and " + maxIdsPerRequest + " event ids can be requested at once"));
+        }
+
+        List<EventResponseDTO> events = eventService.findEventsByIds(eventIds);
+        String etag = EventETags.ofEvents(events);
+        if (EventETags.isNotModified(requestHeaders, etag)) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), listCacheControl, etag).build();
+        }
+        return validators(ResponseEntity.ok(), listCacheControl, etag).body(events);
+    }
+
+    // Categories with their number of upcoming events
+    @GetMapping("/categories")
+    public List<CategorySummaryDTO> getCategories() {
+        return eventService.getCategorySummaries();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEventById(@PathVariable Integer id) {
+    public ResponseEntity<?> getEventById(@PathVariable Integer id, @RequestHeader HttpHeaders requestHeaders) {
         try {
+            EventVersion version = eventService.getEventVersion(id).orElse(null);
+            String probedTag = version != null ? EventETags.of(version) : null;
+            if (probedTag != null && EventETags.isNotModified(requestHeaders, probedTag)) {
+                return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), detailCacheControl, probedTag).build();
+            }
+
             EventResponseDTO event = eventService.findEventById(id);
-            return ResponseEntity.ok(event);
+            return validators(ResponseEntity.ok(), detailCacheControl, EventETags.of(event)).body(event);
         } catch (ResourceNotFoundException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                  .body(new MessageResponse(ex.getMessage()));
+        } catch (ServiceUnavailableException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .body(new MessageResponse(ex.getMessage()));
         }
     }
 
+    // Everything the event page needs in one round trip; works signed out, with more for the caller when signed in
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<?> getEventDetail(@PathVariable Integer id, Authentication authentication) {
+        UserDetails userDetails = authentication != null && authentication.getPrincipal() instanceof UserDetails principal
+                ? principal
+                : null;
+        User currentUser = null;
+        if (userDetails != null) {
+            String username = userDetails.getUsername();
+            currentUser = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        }
+
+        try {
+            EventDetailDTO detail = eventService.getEventDetail(id, currentUser);
+            if (currentUser != null) {
+                List<String> roles = userDetails.getAuthorities().stream()
+                        .map(item -> item.getAuthority())
+                        .toList();
+                detail.setViewer(new UserInfoResponse(currentUser.getUserId(), currentUser.getUsername(), currentUser.getEmail(), roles));
+            }
+            // personalized, unlike the catalog reads
+            return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, "private, no-cache").body(detail);
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                 .body(new MessageResponse(ex.getMessage()));
+        } catch (ServiceUnavailableException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .body(new MessageResponse(ex.getMessage()));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                 .body(new MessageResponse("Error fetching event detail: " + ex.getMessage()));
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder response, String cacheControl, String etag) {
+        return response.header(HttpHeaders.CACHE_CONTROL, cacheControl).eTag(etag);
+    }
+
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_ORGANIZER')")
     public ResponseEntity<?> createEvent(@Valid @RequestBody EventRequestDTO eventRequestDTO, Authentication authentication) {
@@ -84,6 +204,7 @@ public class EventController {
     @PreAuthorize("hasAuthority('ROLE_ORGANIZER')")
     public ResponseEntity<?> updateEvent(@PathVariable Integer id, 
                                          @Valid @RequestBody EventRequestDTO eventRequestDTO, 
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                          Authentication authentication) {
         
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -93,14 +214,59 @@ public class EventController {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
         try {
-            EventResponseDTO updatedEvent = eventService.updateEvent(id, eventRequestDTO, currentUser);
-            return ResponseEntity.ok(updatedEvent);
+            Integer expectedVersion = EventETags.expectedVersion(ifMatch);
+            EventResponseDTO updatedEvent = eventService.updateEvent(id, eventRequestDTO, currentUser, expectedVersion);
+            return ResponseEntity.ok()
+                                 .eTag(EventETags.of(updatedEvent))
+                                 .body(updatedEvent);
         } catch (ResourceNotFoundException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                  .body(new MessageResponse(ex.getMessage()));
         } catch (AccessDeniedException ex) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                                  .body(new MessageResponse(ex.getMessage()));
+        } catch (PreconditionFailedException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                 .body(new MessageResponse(ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+             return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage()));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                  .body(new MessageResponse("Error updating event: " + ex.getMessage()));
+        }
+    }
+
+    // Partial update: only the fields present in the body are written
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ORGANIZER')")
+    public ResponseEntity<?> patchEvent(@PathVariable Integer id,
+                                        @Valid @RequestBody EventPatchDTO eventPatchDTO,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        Authentication authentication) {
+
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        String username = userDetails.getUsername();
+
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        try {
+            Integer expectedVersion = EventETags.expectedVersion(ifMatch);
+            Integer newVersion = eventService.patchEvent(id, eventPatchDTO, currentUser, expectedVersion);
+            ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+            if (newVersion != null) {
+                response.eTag(EventETags.of(newVersion));
+            }
+            return response.build();
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                 .body(new MessageResponse(ex.getMessage()));
+        } catch (AccessDeniedException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                                 .body(new MessageResponse(ex.getMessage()));
+        } catch (PreconditionFailedException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                 .body(new MessageResponse(ex.getMessage()));
         } catch (IllegalArgumentException ex) {
              return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage()));
         } catch (Exception ex) {
@@ -203,6 +369,32 @@ public class EventController {
         }
     }
 
+    // Check which of several events (?ids=3,1,2) the current user is registered for, e.g. {"3": true, "1": false}
+    @GetMapping("/registrations/status")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getRegistrationStatuses(@RequestParam List<Integer> ids, Authentication authentication) {
+        // empty entries (?ids=1,,2) bind as nulls, which cannot be keys of the JSON object
+        List<Integer> eventIds = ids.stream().filter(Objects::nonNull).toList();
+        if (eventIds.isEmpty() || eventIds.size() > maxIdsPerRequest) {
+            return ResponseEntity.badRequest()
+                                 .body(new MessageResponse("Between 1 and " + maxIdsPerRequest + " event ids can be requested at once"));
+        }
+
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        String username = userDetails.getUsername();
+
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        try {
+            Map<Integer, Boolean> statuses = eventService.getRegistrationStatuses(eventIds, currentUser.getUserId());
+            return ResponseEntity.ok(statuses);
+        } catch (Exception ex) {
+             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                  .body(new MessageResponse("Error checking registration status: " + ex.getMessage()));
+        }
+    }
+
     // Check if the current user is registered for a specific event
     @GetMapping("/{id}/registrations/status")
     @PreAuthorize("isAuthenticated()")
@@ -0,0 +1,121 @@
+package edu.sjsu.cs157a.sjsu_event_manager.controller;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventResponseDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.PreconditionFailedException;
+import edu.sjsu.cs157a.sjsu_event_manager.model.EventVersion;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * cache validators for events
+ * one event's strong tag is "{version}-{registrationCount}-{organizer}": the version column moves on every edit,
+ * the count on every (de)registration, and organizer is a short hash of the organizer's username, which together
+ * cover what the response body shows
+ * list tags hash the same values for every event in the list, so the cheap version probe and the full
+ * response produce the same tag
+ * there is no Last-Modified: deleting an event or a registration leaves no newer timestamp behind, so a date
+ * would let clients keep a copy that is out of date
+ */
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    static String of(Integer version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(Integer version, long registrationCount, String organizerUsername) {
+        return "\"" + version + "-" + registrationCount + "-" + organizerTag(organizerUsername) + "\"";
+    }
+
+    static String of(EventVersion version) {
+        return of(version.getVersion(), version.getRegistrationCount(), version.getOrganizerUsername());
+    }
+
+    static String of(EventResponseDTO event) {
+        return of(event.getVersion(), event.getRegistrationCount(), event.getOrganizerUsername());
+    }
+
+    static String ofVersions(List<EventVersion> versions) {
+        return digest(versions.stream()
+                .sorted(Comparator.comparing(EventVersion::getEventId))
+                .map(v -> v.getEventId() + ":" + v.getVersion() + ":" + v.getRegistrationCount() + ":" + v.getOrganizerUsername())
+                .toList());
+    }
+
+    static String ofEvents(List<EventResponseDTO> events) {
+        return digest(events.stream()
+                .sorted(Comparator.comparing(EventResponseDTO::getEventId))
+                .map(e -> e.getEventId() + ":" + e.getVersion() + ":" + e.getRegistrationCount() + ":" + e.getOrganizerUsername())
+                .toList());
+    }
+
+    // usernames may hold characters an entity tag cannot, and 32 bits are enough to notice a rename
+    private static String organizerTag(String organizerUsername) {
+        return HexFormat.of().formatHex(sha256(List.of(String.valueOf(organizerUsername))), 0, 4);
+    }
+
+    private static String digest(List<String> entries) {
+        // 128 bits is plenty to tell catalog states apart
+        return "\"" + HexFormat.of().formatHex(sha256(entries), 0, 16) + "\"";
+    }
+
+    private static byte[] sha256(List<String> entries) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String entry : entries) {
+                sha256.update(entry.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) ';');
+            }
+            return sha256.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * true when a conditional GET can be answered with 304
+     * If-None-Match uses weak comparison; If-Modified-Since is ignored since no Last-Modified is sent
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, String etag) {
+        String opaque = opaqueTag(etag);
+        return requestHeaders.getIfNoneMatch().stream().anyMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(opaque));
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /**
+     * the version an If-Match header requires, or null when there is no precondition (absent or "*")
+     * both the bare version tag and the "{version}-{registrationCount}-{organizer}" representation tag are accepted:
+     * registrations do not conflict with edits, so only the version part is compared
+     * weak or malformed tags can never match strongly, so they fail the precondition
+     */
+    static Integer expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.contains(",")) {
+            throw new IllegalArgumentException("If-Match must contain a single entity tag");
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current event version");
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int dash = value.indexOf('-');
+        try {
+            return Integer.valueOf(dash > 0 ? value.substring(0, dash) : value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current event version");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+public class CategorySummaryDTO {
+    private String category;
+    private String categoryKey;
+    private long upcomingEventCount;
+
+    public CategorySummaryDTO(String category, String categoryKey, long upcomingEventCount) {
+        this.category = category;
+        this.categoryKey = categoryKey;
+        this.upcomingEventCount = upcomingEventCount;
+    }
+
+    public CategorySummaryDTO() {}
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getCategoryKey() {
+        return categoryKey;
+    }
+
+    public void setCategoryKey(String categoryKey) {
+        this.categoryKey = categoryKey;
+    }
+
+    public long getUpcomingEventCount() {
+        return upcomingEventCount;
+    }
+
+    public void setUpcomingEventCount(long upcomingEventCount) {
+        this.upcomingEventCount = upcomingEventCount;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+// everything an event page shows, in one response; the caller-specific parts are null for anonymous callers
+public class EventDetailDTO {
+    private EventResponseDTO event;
+    private Long seatsRemaining;
+    private UserInfoResponse viewer;
+    private Boolean registered;
+    // only for the event's own organizer
+    private EventRosterSummaryDTO roster;
+
+    public EventDetailDTO(EventResponseDTO event, Long seatsRemaining, Boolean registered, EventRosterSummaryDTO roster) {
+        this.event = event;
+        this.seatsRemaining = seatsRemaining;
+        this.registered = registered;
+        this.roster = roster;
+    }
+
+    public EventDetailDTO() {}
+
+    public EventResponseDTO getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventResponseDTO event) {
+        this.event = event;
+    }
+
+    public Long getSeatsRemaining() {
+        return seatsRemaining;
+    }
+
+    public void setSeatsRemaining(Long seatsRemaining) {
+        this.seatsRemaining = seatsRemaining;
+    }
+
+    public UserInfoResponse getViewer() {
+        return viewer;
+    }
+
+    public void setViewer(UserInfoResponse viewer) {
+        this.viewer = viewer;
+    }
+
+    public Boolean getRegistered() {
+        return registered;
+    }
+
+    public void setRegistered(Boolean registered) {
+        this.registered = registered;
+    }
+
+    public EventRosterSummaryDTO getRoster() {
+        return roster;
+    }
+
+    public void setRoster(EventRosterSummaryDTO roster) {
+        this.roster = roster;
+    }
+}
@@ -0,0 +1,93 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * sparse event update: only non-null fields are written
+ */
+public class EventPatchDTO {
+
+    @Size(max = 255)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title cannot be blank")
+    private String title;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description cannot be blank")
+    private String description;
+
+    @Size(max = 255)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Location cannot be blank")
+    private String location;
+
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime startTime;
+
+    @Future(message = "End time must be in the future")
+    private LocalDateTime endTime;
+
+    @Size(max = 100)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Category cannot be blank")
+    private String category;
+
+    @Min(value = 1, message = "Max attendees must be at least 1")
+    private Integer maxAttendees;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Integer getMaxAttendees() {
+        return maxAttendees;
+    }
+
+    public void setMaxAttendees(Integer maxAttendees) {
+        this.maxAttendees = maxAttendees;
+    }
+}
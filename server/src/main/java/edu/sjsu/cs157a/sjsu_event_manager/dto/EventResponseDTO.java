@@ -16,8 +16,9 @@ public class EventResponseDTO {
     private LocalDateTime updatedAt;
     private long registrationCount;
     private Integer maxAttendees;
+    private Integer version;
 
-    public EventResponseDTO(Integer eventId, String title, String description, String location, LocalDateTime startTime, LocalDateTime endTime, String category, Integer organizerId, String organizerUsername, LocalDateTime createdAt, LocalDateTime updatedAt, long registrationCount, Integer maxAttendees) {
+    public EventResponseDTO(Integer eventId, String title, String description, String location, LocalDateTime startTime, LocalDateTime endTime, String category, Integer organizerId, String organizerUsername, LocalDateTime createdAt, LocalDateTime updatedAt, long registrationCount, Integer maxAttendees, Integer version) {
         this.eventId = eventId;
         this.title = title;
         this.description = description;
@@ -31,6 +32,7 @@ public class EventResponseDTO {
         this.updatedAt = updatedAt;
         this.registrationCount = registrationCount;
         this.maxAttendees = maxAttendees;
+        this.version = version;
     }
 
     public EventResponseDTO() {}
@@ -138,4 +140,12 @@ public class EventResponseDTO {
     public void setMaxAttendees(Integer maxAttendees) {
         this.maxAttendees = maxAttendees;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
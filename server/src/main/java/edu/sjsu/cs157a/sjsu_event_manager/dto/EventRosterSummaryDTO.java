@@ -0,0 +1,31 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+import java.util.List;
+
+public class EventRosterSummaryDTO {
+    private long registrationCount;
+    private List<RegistrationResponseDTO> latestRegistrations;
+
+    public EventRosterSummaryDTO(long registrationCount, List<RegistrationResponseDTO> latestRegistrations) {
+        this.registrationCount = registrationCount;
+        this.latestRegistrations = latestRegistrations;
+    }
+
+    public EventRosterSummaryDTO() {}
+
+    public long getRegistrationCount() {
+        return registrationCount;
+    }
+
+    public void setRegistrationCount(long registrationCount) {
+        this.registrationCount = registrationCount;
+    }
+
+    public List<RegistrationResponseDTO> getLatestRegistrations() {
+        return latestRegistrations;
+    }
+
+    public void setLatestRegistrations(List<RegistrationResponseDTO> latestRegistrations) {
+        this.latestRegistrations = latestRegistrations;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+public class HotKeyDTO {
+    private String key;
+    private long estimatedCount;
+
+    public HotKeyDTO(String key, long estimatedCount) {
+        this.key = key;
+        this.estimatedCount = estimatedCount;
+    }
+
+    public HotKeyDTO() {}
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getEstimatedCount() {
+        return estimatedCount;
+    }
+
+    public void setEstimatedCount(long estimatedCount) {
+        this.estimatedCount = estimatedCount;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+public class RouteLatencyDTO {
+    private String route;
+    private long count;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+
+    public RouteLatencyDTO(String route, long count, double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+        this.route = route;
+        this.count = count;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.p999Ms = p999Ms;
+        this.maxMs = maxMs;
+    }
+
+    public RouteLatencyDTO() {}
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(double p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public double getP90Ms() {
+        return p90Ms;
+    }
+
+    public void setP90Ms(double p90Ms) {
+        this.p90Ms = p90Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(double p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public double getP999Ms() {
+        return p999Ms;
+    }
+
+    public void setP999Ms(double p999Ms) {
+        this.p999Ms = p999Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+}
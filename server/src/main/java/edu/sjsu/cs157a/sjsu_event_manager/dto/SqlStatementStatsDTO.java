@@ -0,0 +1,89 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dto;
+
+public class SqlStatementStatsDTO {
+    private String fingerprint;
+    private long calls;
+    private long errors;
+    private double totalMs;
+    private double meanMs;
+    private double maxMs;
+    private long rows;
+    private long slowCalls;
+
+    public SqlStatementStatsDTO(String fingerprint, long calls, long errors, double totalMs, double meanMs, double maxMs, long rows, long slowCalls) {
+        this.fingerprint = fingerprint;
+        this.calls = calls;
+        this.errors = errors;
+        this.totalMs = totalMs;
+        this.meanMs = meanMs;
+        this.maxMs = maxMs;
+        this.rows = rows;
+        this.slowCalls = slowCalls;
+    }
+
+    public SqlStatementStatsDTO() {}
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public void setMeanMs(double meanMs) {
+        this.meanMs = meanMs;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getSlowCalls() {
+        return slowCalls;
+    }
+
+    public void setSlowCalls(long slowCalls) {
+        this.slowCalls = slowCalls;
+    }
+}
@@ -1,6 +1,5 @@
 package edu.sjsu.cs157a.sjsu_event_manager.model;
 
-import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,60 +7,45 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Entity
-@Table(name = "events")
 public class Event {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "event_id")
     private Integer eventId;
 
     @NotBlank(message = "Event title cannot be blank")
     @Size(max = 255, message = "Event title must be less than 255 characters")
-    @Column(name = "title", nullable = false, length = 255)
     private String title;
 
     @NotBlank(message = "Event description cannot be blank")
-    @Column(name = "description", nullable = false, columnDefinition = "TEXT")
     private String description;
 
     @NotBlank(message = "Event location cannot be blank")
     @Size(max = 255, message = "Event location must be less than 255 characters")
-    @Column(name = "location", nullable = false, length = 255)
     private String location;
 
     @NotNull(message = "Start time cannot be null")
     @Future(message = "Start time must be in the future")
-    @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
     @NotNull(message = "End time cannot be null")
     @Future(message = "End time must be in the future")
-    @Column(name = "end_time", nullable = false)
     private LocalDateTime endTime;
 
     @NotBlank(message = "Event category cannot be blank")
     @Size(max = 100, message = "Event category must be less than 100 characters")
-    @Column(name = "category", nullable = false, length = 100)
     private String category;
 
     @NotNull
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer; // The user who created the event
 
-    @Column(name = "created_at", insertable = false, updatable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
-    @Column(name = "updated_at", insertable = false, updatable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
     private LocalDateTime updatedAt;
 
-    @Column(name = "max_attendees")
     private Integer maxAttendees;
 
+    private Integer version;
+
     // Relationship to registrations (one event can have many registrations)
-    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Registration> registrations;
 
     // Getters and Setters
@@ -162,6 +146,14 @@ public class Event {
         this.maxAttendees = maxAttendees;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     // Consider adding @PrePersist and @PreUpdate methods if needed for timestamps
     // Add equals() and hashCode() methods based on eventId if needed
 } 
\ No newline at end of file
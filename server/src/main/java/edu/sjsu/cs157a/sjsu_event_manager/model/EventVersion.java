@@ -0,0 +1,39 @@
+package edu.sjsu.cs157a.sjsu_event_manager.model;
+
+/**
+ * the change-tracking columns of one event: enough to build cache validators
+ * without loading the event, its description or its registrations
+ */
+public class EventVersion {
+
+    private Integer eventId;
+
+    private Integer version;
+
+    private long registrationCount;
+
+    private String organizerUsername;
+
+    public EventVersion(Integer eventId, Integer version, long registrationCount, String organizerUsername) {
+        this.eventId = eventId;
+        this.version = version;
+        this.registrationCount = registrationCount;
+        this.organizerUsername = organizerUsername;
+    }
+
+    public Integer getEventId() {
+        return eventId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public long getRegistrationCount() {
+        return registrationCount;
+    }
+
+    public String getOrganizerUsername() {
+        return organizerUsername;
+    }
+}
@@ -1,28 +1,15 @@
 package edu.sjsu.cs157a.sjsu_event_manager.model;
 
-import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
-@Entity
-@Table(name = "registrations", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "event_id"})
-})
 public class Registration {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "registration_id")
     private Integer registrationId;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
-    @Column(name = "registration_time", nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime registrationTime;
 
     public Registration() {
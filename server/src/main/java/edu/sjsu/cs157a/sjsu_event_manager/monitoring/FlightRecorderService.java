@@ -0,0 +1,76 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ConflictException;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ResourceNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * one on-demand flight recording per node: start it, stop it, and dump what it holds
+ * the app's own events (JdbcStatementEvent, RegistrationEvent, JwtVerificationEvent) are enabled in it
+ * along with the JDK events of the chosen settings ("default" or "profile")
+ */
+@Component
+public class FlightRecorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private final long maxSizeBytes;
+
+    private Recording recording;
+
+    public FlightRecorderService(@Value("${sjsu.app.jfr.maxSizeBytes:104857600}") long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public synchronized void start(String settings, Duration maxAge) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ConflictException("A recording is already running");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording started = new Recording(Configuration.getConfiguration(settings));
+        started.setName("sjsu-on-demand");
+        started.setToDisk(true);
+        started.setMaxSize(maxSizeBytes);
+        started.setMaxAge(maxAge);
+        started.enable(JdbcStatementEvent.class);
+        started.enable(RegistrationEvent.class);
+        started.enable(JwtVerificationEvent.class);
+        started.start();
+        recording = started;
+        log.info("Started flight recording with {} settings", settings);
+    }
+
+    public synchronized void stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new ResourceNotFoundException("Recording", "state", "running");
+        }
+        recording.stop();
+        log.info("Stopped flight recording");
+    }
+
+    /**
+     * write what the recording holds so far (running or stopped) to a temporary file; the caller deletes it
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new ResourceNotFoundException("Recording", "state", "started");
+        }
+        Path file = Files.createTempFile("sjsu-recording-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * counts every handled request towards the heavy hitters: its endpoint (method and route pattern),
+ * its user when authenticated, and the event when the route addresses one (/api/events/{id}...)
+ */
+@Component
+public class HeavyHitterInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ROUTE_PREFIX = "/api/events/{id}";
+
+    private final HeavyHitters heavyHitters;
+
+    public HeavyHitterInterceptor(HeavyHitters heavyHitters) {
+        this.heavyHitters = heavyHitters;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        heavyHitters.record(HeavyHitters.Dimension.ENDPOINT, request.getMethod() + " " + pattern);
+
+        if (pattern.toString().startsWith(EVENT_ROUTE_PREFIX)) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            String eventId = variables != null ? eventKey(variables.get("id")) : null;
+            if (eventId != null) {
+                heavyHitters.record(HeavyHitters.Dimension.EVENT, eventId);
+            }
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            heavyHitters.record(HeavyHitters.Dimension.USER, authentication.getName());
+        }
+        return true;
+    }
+
+    // the id as a canonical positive integer ("007" counts as "7"), or null when it cannot name an event,
+    // so junk ids neither take top-K slots nor reach the pre-warming
+    private static String eventKey(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            int eventId = Integer.parseInt(id);
+            return eventId > 0 ? String.valueOf(eventId) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
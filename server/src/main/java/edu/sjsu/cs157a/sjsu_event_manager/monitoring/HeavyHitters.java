@@ -0,0 +1,39 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.HotKeyDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the hottest events, endpoints and users over a sliding window (see SlidingTopK)
+ * fed by HeavyHitterInterceptor; read by the admin endpoint and by cache pre-warming
+ */
+@Component
+public class HeavyHitters {
+
+    public enum Dimension {
+        EVENT, ENDPOINT, USER
+    }
+
+    private final Map<Dimension, SlidingTopK> trackers = new EnumMap<>(Dimension.class);
+
+    public HeavyHitters(@Value("${sjsu.app.hotKeys.windowMs:60000}") long windowMs,
+                        @Value("${sjsu.app.hotKeys.buckets:6}") int buckets,
+                        @Value("${sjsu.app.hotKeys.capacity:100}") int capacity) {
+        for (Dimension dimension : Dimension.values()) {
+            trackers.put(dimension, new SlidingTopK(windowMs, buckets, capacity));
+        }
+    }
+
+    public void record(Dimension dimension, String key) {
+        trackers.get(dimension).record(key);
+    }
+
+    public List<HotKeyDTO> top(Dimension dimension, int n) {
+        return trackers.get(dimension).top(n);
+    }
+}
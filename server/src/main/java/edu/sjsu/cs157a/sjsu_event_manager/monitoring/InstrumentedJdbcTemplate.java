@@ -0,0 +1,163 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * a JdbcTemplate that emits a JdbcStatementEvent for every statement it runs and adds its time to the
+ * request's database timing (see ServerTiming)
+ * JdbcTemplate funnels its query and update convenience methods into the handful of entry points
+ * overridden here (the execute methods behind them are private), so each statement is recorded once
+ * when no flight recording has the event enabled, begin and commit do nothing and the sql is not captured
+ */
+public class InstrumentedJdbcTemplate extends JdbcTemplate {
+
+    private final String repository;
+
+    public InstrumentedJdbcTemplate(DataSource dataSource, String repository) {
+        super(dataSource);
+        this.repository = repository;
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, PreparedStatementSetter pss, ResultSetExtractor<T> rse) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        PreparedStatementCreator creator = capturing(psc, event);
+        return record(event, () -> super.query(creator, pss, rse));
+    }
+
+    @Override
+    public <T> T query(String sql, ResultSetExtractor<T> rse) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        event.setSql(sql);
+        return record(event, () -> super.query(sql, rse));
+    }
+
+    @Override
+    protected int update(PreparedStatementCreator psc, PreparedStatementSetter pss) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        PreparedStatementCreator creator = capturing(psc, event);
+        return record(event, () -> super.update(creator, pss));
+    }
+
+    @Override
+    public int update(PreparedStatementCreator psc, KeyHolder generatedKeyHolder) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        PreparedStatementCreator creator = capturing(psc, event);
+        return record(event, () -> super.update(creator, generatedKeyHolder));
+    }
+
+    @Override
+    public int update(String sql) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        event.setSql(sql);
+        return record(event, () -> super.update(sql));
+    }
+
+    @Override
+    public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        PreparedStatementCreator creator = capturing(psc, event);
+        return record(event, () -> super.execute(creator, action));
+    }
+
+    @Override
+    public <T> T execute(String sql, PreparedStatementCallback<T> action) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        event.setSql(sql);
+        return record(event, () -> super.execute(sql, action));
+    }
+
+    @Override
+    public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        if (action instanceof SqlProvider provider) {
+            event.setSql(provider.getSql());
+        }
+        return record(event, () -> super.execute(action));
+    }
+
+    @Override
+    public void execute(String sql) throws DataAccessException {
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        event.setSql(sql);
+        record(event, () -> {
+            super.execute(sql);
+            return null;
+        });
+    }
+
+    private <T> T record(JdbcStatementEvent event, Supplier<T> statement) {
+        long start = System.nanoTime();
+        event.begin();
+        event.setRepository(repository);
+        try {
+            T result = statement.get();
+            event.setRows(rows(result));
+            return result;
+        } catch (RuntimeException e) {
+            event.setFailed(true);
+            throw e;
+        } finally {
+            event.commit();
+            ServerTiming.record(ServerTiming.Phase.DB, System.nanoTime() - start);
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return result != null ? 1 : 0;
+    }
+
+    private static PreparedStatementCreator capturing(PreparedStatementCreator psc, JdbcStatementEvent event) {
+        if (!event.isEnabled()) {
+            return psc;
+        }
+        if (psc instanceof SqlProvider provider) {
+            event.setSql(provider.getSql());
+            return psc;
+        }
+        // lambda creators don't expose their sql; catch it on its way into the connection
+        return connection -> psc.createPreparedStatement(capturingSql(connection, event));
+    }
+
+    private static Connection capturingSql(Connection connection, JdbcStatementEvent event) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().startsWith("prepare") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                    event.setSql(sql);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+}
@@ -0,0 +1,47 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one JdbcTemplate call made by a repository (see InstrumentedJdbcTemplate)
+ */
+@Name("edu.sjsu.cs157a.JdbcStatement")
+@Label("JDBC Statement")
+@Category({"SJSU Event Manager", "Database"})
+@Description("A statement executed through a repository's JdbcTemplate")
+@StackTrace(false)
+public class JdbcStatementEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Rows")
+    @Description("Rows returned by a query or affected by an update")
+    private long rows;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one JWT signature and expiry check in JwtUtils
+ */
+@Name("edu.sjsu.cs157a.JwtVerification")
+@Label("JWT Verification")
+@Category({"SJSU Event Manager", "Security"})
+@Description("Verification of a JWT taken from the auth cookie")
+@StackTrace(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    @Description("valid, malformed, expired, unsupported, empty, invalid_signature or error")
+    private String outcome = "error";
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.RouteLatencyDTO;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a high-dynamic-range latency histogram per route (method and mapping), in microseconds with three
+ * significant digits, so tail percentiles are exact to 0.1% instead of being interpolated from buckets
+ * requests record into a lock-free Recorder; reading a snapshot folds what was recorded since the
+ * last read into the route's cumulative histogram
+ */
+@Component
+public class LatencyHistograms {
+
+    // anything slower is recorded as a minute
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final class Route {
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+        private Histogram interval;
+    }
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public void record(String route, long elapsedNanos) {
+        long micros = Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_MICROS));
+        routes.computeIfAbsent(route, r -> new Route()).recorder.recordValue(micros);
+    }
+
+    public synchronized List<RouteLatencyDTO> snapshot() {
+        List<RouteLatencyDTO> snapshot = new ArrayList<>();
+        for (Map.Entry<String, Route> entry : routes.entrySet()) {
+            Route route = entry.getValue();
+            route.interval = route.recorder.getIntervalHistogram(route.interval);
+            route.total.add(route.interval);
+            Histogram total = route.total;
+            snapshot.add(new RouteLatencyDTO(entry.getKey(), total.getTotalCount(),
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue())));
+        }
+        snapshot.sort(Comparator.comparing(RouteLatencyDTO::getRoute));
+        return snapshot;
+    }
+
+    public synchronized void reset() {
+        for (Route route : routes.values()) {
+            route.interval = route.recorder.getIntervalHistogram(route.interval);
+            route.total.reset();
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one call to EventService.registerForEvent and how it ended
+ */
+@Name("edu.sjsu.cs157a.Registration")
+@Label("Event Registration")
+@Category({"SJSU Event Manager", "Registrations"})
+@Description("An attempt to register for an event")
+@StackTrace(false)
+public class RegistrationEvent extends jdk.jfr.Event {
+
+    @Label("Event Id")
+    private int eventId;
+
+    @Label("User Id")
+    private int userId;
+
+    @Label("Outcome")
+    @Description("registered, not_found, own_event, already_registered, full or error")
+    private String outcome = "error";
+
+    public void setEventId(int eventId) {
+        this.eventId = eventId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
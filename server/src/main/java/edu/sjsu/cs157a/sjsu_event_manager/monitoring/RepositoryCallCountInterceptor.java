@@ -0,0 +1,38 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * records how many repository calls each request made, per endpoint (method and route pattern),
+ * so an endpoint that starts issuing a query per row shows up as a jump in its distribution
+ */
+@Component
+public class RepositoryCallCountInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryCallCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        int[] calls = (int[]) request.getAttribute(RepositoryMetricsAspect.CALLS_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.repository.calls")
+                .description("Repository calls made while serving one request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern.toString())
+                .register(meterRegistry)
+                .record(calls == null ? 0 : calls[0]);
+    }
+}
@@ -0,0 +1,100 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * times every public repository method, tagged by repository, method and outcome:
+ * hit when it found or wrote something, miss when it came back empty (no row, empty list, false),
+ * error when it threw. calls made while serving a web request are also counted towards that request,
+ * see RepositoryCallCountInterceptor
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    static final String CALLS_ATTRIBUTE = RepositoryMetricsAspect.class.getName() + ".calls";
+
+    private record Key(String repository, String method, String outcome) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * edu.sjsu.cs157a.sjsu_event_manager.repository.*Repository.*(..))")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String repository = signature.getDeclaringType().getSimpleName();
+        String method = signature.getName();
+        countTowardsRequest();
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = signature.getReturnType() == void.class || found(result) ? "hit" : "miss";
+            return result;
+        } finally {
+            timer(new Key(repository, method, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean found(Object result) {
+        if (result == null) {
+            return false;
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent();
+        }
+        if (result instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        if (result instanceof Boolean flag) {
+            return flag;
+        }
+        return true;
+    }
+
+    private static void countTowardsRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return;
+        }
+        int[] calls = (int[]) request.getAttribute(CALLS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (calls == null) {
+            calls = new int[1];
+            request.setAttribute(CALLS_ATTRIBUTE, calls, RequestAttributes.SCOPE_REQUEST);
+        }
+        calls[0]++;
+    }
+
+    private Timer timer(Key key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder("repository.calls")
+                .description("Repository method calls")
+                .tag("repository", k.repository())
+                .tag("method", k.method())
+                .tag("outcome", k.outcome())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,75 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import java.util.Locale;
+
+/**
+ * where the current request's time went, reported to the client in a Server-Timing header
+ * ServerTimingFilter opens one per request on the serving thread; the auth filter, JwtUtils,
+ * InstrumentedJdbcTemplate and the JSON converter add to it. work on other threads is not attributed
+ * the phases can overlap: auth includes jwt and the user lookup's database time
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        AUTH("auth", "Auth filter"),
+        JWT("jwt", "JWT verification"),
+        DB("db", "Database"),
+        SERIALIZATION("ser", "Serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+
+    private ServerTiming() {
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void record(Phase phase, long elapsedNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * e.g. auth;dur=1.204;desc="Auth filter", db;dur=3.310;desc="Database (2 calls)", total;dur=6.002
+     * phases that did not happen are left out
+     */
+    String header(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            String description = phase == Phase.DB ? phase.description + " (" + count + (count == 1 ? " call)" : " calls)") : phase.description;
+            header.append(phase.metric).append(";dur=").append(millis(nanos[phase.ordinal()]))
+                    .append(";desc=\"").append(description).append("\", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
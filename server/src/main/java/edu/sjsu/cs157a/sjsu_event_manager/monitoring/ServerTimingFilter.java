@@ -0,0 +1,68 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * times requests to the event, user and auth controllers: the latency goes into the route's HDR histogram
+ * and the breakdown (see ServerTiming) into a Server-Timing header
+ * runs ahead of the security filter chain so the auth filter is inside the measurement; the body is
+ * buffered so the header can still be set once serialization has been timed
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final String[] TIMED_PATHS = {"/api/events", "/api/users", "/api/auth"};
+
+    private final LatencyHistograms latencyHistograms;
+
+    public ServerTimingFilter(LatencyHistograms latencyHistograms) {
+        this.latencyHistograms = latencyHistograms;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String timed : TIMED_PATHS) {
+            if (path.equals(timed) || path.startsWith(timed + "/")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        ServerTiming timing = ServerTiming.begin();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            ServerTiming.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                latencyHistograms.record(request.getMethod() + " " + pattern, elapsed);
+            }
+            if (!buffered.isCommitted()) {
+                buffered.setHeader(HEADER, timing.header(elapsed));
+            }
+            buffered.copyBodyToResponse();
+        }
+    }
+}
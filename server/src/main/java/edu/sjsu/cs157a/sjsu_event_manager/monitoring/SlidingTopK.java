@@ -0,0 +1,315 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.HotKeyDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * approximate most frequent keys over a sliding window, in bounded memory
+ *
+ * the window is split into buckets, each with its own count-min sketch; a key's count is the sum of its
+ * estimates in the live buckets, and a bucket is cleared when the window slides past it. next to the
+ * sketches a fixed number of candidate keys is kept in a min-heap: a new key replaces the weakest candidate
+ * once its estimate is higher. count-min only overestimates, so a key that really is hot always gets in
+ *
+ * recording does not take a lock: each sketch is striped by thread and its counters are atomic, and the
+ * candidate heap is only locked for keys that can enter it. counts recorded while a bucket is being cleared
+ * may be lost, which is within what the sketch approximates anyway
+ */
+public class SlidingTopK {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH_BITS = 10;
+    private static final int WIDTH = 1 << WIDTH_BITS;
+    // one seed per row, so each row hashes keys independently of the others
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+    // a power of two, at most one stripe per processor
+    private static final int STRIPES = Integer.highestOneBit(Math.min(4, Runtime.getRuntime().availableProcessors()));
+    // how many stale candidates an admission re-estimates before comparing with the weakest one
+    private static final int MAX_REFRESHES = 8;
+
+    private final long bucketMs;
+    private final int capacity;
+    private final LongSupplier clock;
+
+    // [stripe][bucket], each DEPTH rows of WIDTH counters
+    private final AtomicIntegerArray[][] sketches;
+    private final AtomicLongArray bucketEpochs;
+
+    // min-heap of the candidates by their estimate when last seen; guarded by candidatesLock
+    private final ReentrantLock candidatesLock = new ReentrantLock();
+    private final String[] heapKeys;
+    private final int[][] heapColumns;
+    private final long[] heapEstimates;
+    private int heapSize;
+    // candidate key -> heap slot; written under the lock, read without it
+    private final Map<String, Integer> heapSlots = new ConcurrentHashMap<>();
+    // the weakest candidate's estimate once the heap is full; keys at or below it cannot get in
+    private volatile long admissionThreshold;
+
+    public SlidingTopK(long windowMs, int buckets, int capacity) {
+        this(windowMs, buckets, capacity, System::currentTimeMillis);
+    }
+
+    SlidingTopK(long windowMs, int buckets, int capacity, LongSupplier clock) {
+        this.bucketMs = Math.max(1, windowMs / buckets);
+        this.capacity = capacity;
+        this.clock = clock;
+        this.sketches = new AtomicIntegerArray[STRIPES][buckets];
+        for (AtomicIntegerArray[] stripe : sketches) {
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                stripe[bucket] = new AtomicIntegerArray(DEPTH * WIDTH);
+            }
+        }
+        this.bucketEpochs = new AtomicLongArray(buckets);
+        this.heapKeys = new String[capacity];
+        this.heapColumns = new int[capacity][];
+        this.heapEstimates = new long[capacity];
+        updateAdmissionThreshold();
+    }
+
+    public void record(String key) {
+        long epoch = clock.getAsLong() / bucketMs;
+        int[] columns = columns(key);
+        AtomicIntegerArray sketch = sketches[stripe()][currentBucket(epoch)];
+        for (int row = 0; row < DEPTH; row++) {
+            sketch.incrementAndGet(row * WIDTH + columns[row]);
+        }
+
+        long estimate = estimate(columns, epoch);
+        if (heapSlots.containsKey(key)) {
+            // a busy lock means other threads are updating candidates; top() re-estimates them all anyway
+            if (candidatesLock.tryLock()) {
+                try {
+                    update(key, estimate);
+                } finally {
+                    candidatesLock.unlock();
+                }
+            }
+            return;
+        }
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+        candidatesLock.lock();
+        try {
+            admit(key, columns, estimate, epoch);
+        } finally {
+            candidatesLock.unlock();
+        }
+    }
+
+    /**
+     * the n keys with the highest estimated counts in the current window, highest first
+     */
+    public List<HotKeyDTO> top(int n) {
+        long epoch = clock.getAsLong() / bucketMs;
+        List<HotKeyDTO> live = new ArrayList<>();
+        candidatesLock.lock();
+        try {
+            int kept = 0;
+            for (int slot = 0; slot < heapSize; slot++) {
+                long estimate = estimate(heapColumns[slot], epoch);
+                if (estimate == 0) {
+                    // nothing left of it in the window
+                    heapSlots.remove(heapKeys[slot]);
+                    continue;
+                }
+                live.add(new HotKeyDTO(heapKeys[slot], estimate));
+                heapKeys[kept] = heapKeys[slot];
+                heapColumns[kept] = heapColumns[slot];
+                heapEstimates[kept] = estimate;
+                kept++;
+            }
+            for (int slot = kept; slot < heapSize; slot++) {
+                heapKeys[slot] = null;
+                heapColumns[slot] = null;
+            }
+            heapSize = kept;
+            for (int slot = heapSize / 2 - 1; slot >= 0; slot--) {
+                siftDown(slot);
+            }
+            for (int slot = 0; slot < heapSize; slot++) {
+                heapSlots.put(heapKeys[slot], slot);
+            }
+            updateAdmissionThreshold();
+        } finally {
+            candidatesLock.unlock();
+        }
+        return live.stream()
+                .sorted(Comparator.comparingLong(HotKeyDTO::getEstimatedCount).reversed())
+                .limit(n)
+                .toList();
+    }
+
+    private void update(String key, long estimate) {
+        Integer slot = heapSlots.get(key);
+        if (slot == null) {
+            return;
+        }
+        long previous = heapEstimates[slot];
+        heapEstimates[slot] = estimate;
+        if (estimate > previous) {
+            siftDown(slot);
+        } else {
+            siftUp(slot);
+        }
+        updateAdmissionThreshold();
+    }
+
+    private void admit(String key, int[] columns, long estimate, long epoch) {
+        if (heapSlots.containsKey(key)) {
+            update(key, estimate);
+            return;
+        }
+        if (heapSize < capacity) {
+            int slot = heapSize++;
+            place(slot, key, columns, estimate);
+            siftUp(slot);
+            updateAdmissionThreshold();
+            return;
+        }
+        // the weakest candidate's estimate may be stale (its updates are skipped under contention)
+        for (int i = 0; i < MAX_REFRESHES; i++) {
+            long current = estimate(heapColumns[0], epoch);
+            if (current == heapEstimates[0]) {
+                break;
+            }
+            heapEstimates[0] = current;
+            siftDown(0);
+        }
+        if (estimate > heapEstimates[0]) {
+            heapSlots.remove(heapKeys[0]);
+            place(0, key, columns, estimate);
+            siftDown(0);
+        }
+        updateAdmissionThreshold();
+    }
+
+    private void updateAdmissionThreshold() {
+        if (capacity == 0) {
+            admissionThreshold = Long.MAX_VALUE;
+        } else {
+            admissionThreshold = heapSize == capacity ? heapEstimates[0] : 0;
+        }
+    }
+
+    private void place(int slot, String key, int[] columns, long estimate) {
+        heapKeys[slot] = key;
+        heapColumns[slot] = columns;
+        heapEstimates[slot] = estimate;
+        heapSlots.put(key, slot);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (heapEstimates[parent] <= heapEstimates[slot]) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int smallest = slot;
+            int left = 2 * slot + 1;
+            int right = left + 1;
+            if (left < heapSize && heapEstimates[left] < heapEstimates[smallest]) {
+                smallest = left;
+            }
+            if (right < heapSize && heapEstimates[right] < heapEstimates[smallest]) {
+                smallest = right;
+            }
+            if (smallest == slot) {
+                return;
+            }
+            swap(slot, smallest);
+            slot = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = heapKeys[a];
+        int[] columns = heapColumns[a];
+        long estimate = heapEstimates[a];
+        heapKeys[a] = heapKeys[b];
+        heapColumns[a] = heapColumns[b];
+        heapEstimates[a] = heapEstimates[b];
+        heapKeys[b] = key;
+        heapColumns[b] = columns;
+        heapEstimates[b] = estimate;
+        heapSlots.put(heapKeys[a], a);
+        heapSlots.put(heapKeys[b], b);
+    }
+
+    private int currentBucket(long epoch) {
+        int index = (int) (epoch % bucketEpochs.length());
+        long seen = bucketEpochs.get(index);
+        if (seen != epoch && bucketEpochs.compareAndSet(index, seen, epoch)) {
+            // the window slid past this bucket: the thread that moved it on clears it
+            for (AtomicIntegerArray[] stripe : sketches) {
+                AtomicIntegerArray sketch = stripe[index];
+                for (int i = 0; i < sketch.length(); i++) {
+                    sketch.set(i, 0);
+                }
+            }
+        }
+        return index;
+    }
+
+    private long estimate(int[] columns, long epoch) {
+        int buckets = bucketEpochs.length();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int cell = row * WIDTH + columns[row];
+            long count = 0;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                // only buckets inside the window
+                if (epoch - bucketEpochs.get(bucket) < buckets) {
+                    for (AtomicIntegerArray[] stripe : sketches) {
+                        count += stripe[bucket].get(cell);
+                    }
+                }
+            }
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    private static int stripe() {
+        return (int) (Thread.currentThread().threadId() & (STRIPES - 1));
+    }
+
+    private static int[] columns(String key) {
+        int[] columns = new int[DEPTH];
+        for (int row = 0; row < DEPTH; row++) {
+            columns[row] = (int) (hash(key, SEEDS[row]) >>> (Long.SIZE - WIDTH_BITS));
+        }
+        return columns;
+    }
+
+    // 64-bit FNV-1a started from the row's seed, then the murmur3 finalizer to spread every bit
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,159 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.SqlStatementStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * per-statement statistics in the spirit of pg_stat_statements, fed by StatisticsDataSource
+ * statements are grouped by fingerprint (literals and IN lists replaced, whitespace collapsed) and
+ * aggregated with adders, so recording never takes a lock
+ * statements slower than the threshold are logged, every so often with the application frames that issued them
+ */
+@Component
+public class SqlStatementStats {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementStats.class);
+
+    // beyond this many distinct fingerprints everything else is counted together
+    private static final int MAX_FINGERPRINTS = 1000;
+    private static final String OTHER = "<other>";
+    private static final String APPLICATION_PACKAGE = "edu.sjsu.cs157a.sjsu_event_manager.";
+    private static final String MONITORING_PACKAGE = APPLICATION_PACKAGE + "monitoring.";
+    private static final int STACK_DEPTH = 8;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    static final class Statement {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+    }
+
+    private final long slowQueryNanos;
+    private final int stackSampleEvery;
+    private final Map<String, Statement> statements = new ConcurrentHashMap<>();
+    // raw sql -> fingerprint; the repositories issue a small, fixed set of strings
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public SqlStatementStats(@Value("${sjsu.app.sqlStats.slowQueryMs:200}") long slowQueryMs,
+                             @Value("${sjsu.app.sqlStats.stackSampleEvery:10}") int stackSampleEvery) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+        this.stackSampleEvery = Math.max(1, stackSampleEvery);
+    }
+
+    /**
+     * the statistics entry for a statement, to be passed back to record and addRows
+     */
+    Statement statement(String sql) {
+        String fingerprint = fingerprints.size() < MAX_FINGERPRINTS
+                ? fingerprints.computeIfAbsent(sql, SqlStatementStats::fingerprint)
+                : fingerprints.getOrDefault(sql, fingerprint(sql));
+        Statement statement = statements.get(fingerprint);
+        if (statement != null) {
+            return statement;
+        }
+        if (statements.size() >= MAX_FINGERPRINTS) {
+            return statements.computeIfAbsent(OTHER, f -> new Statement());
+        }
+        return statements.computeIfAbsent(fingerprint, f -> new Statement());
+    }
+
+    void record(String sql, Statement statement, long elapsedNanos, boolean failed) {
+        statement.calls.increment();
+        statement.totalNanos.add(elapsedNanos);
+        statement.maxNanos.accumulate(elapsedNanos);
+        if (failed) {
+            statement.errors.increment();
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            statement.slowCalls.increment();
+            logSlow(sql, statement, elapsedNanos);
+        }
+    }
+
+    void addRows(Statement statement, long rows) {
+        statement.rows.add(rows);
+    }
+
+    private void logSlow(String sql, Statement statement, long elapsedNanos) {
+        String fingerprint = fingerprints.getOrDefault(sql, sql);
+        double millis = elapsedNanos / 1_000_000.0;
+        // the first slow call of a statement and every n-th after it carry the caller stack
+        if ((statement.slowCalls.sum() - 1) % stackSampleEvery == 0) {
+            log.warn("Slow query ({} ms): {}\n\tcalled from:\n\t\t{}", String.format(Locale.ROOT, "%.1f", millis),
+                    fingerprint, callers());
+        } else {
+            log.warn("Slow query ({} ms): {}", String.format(Locale.ROOT, "%.1f", millis), fingerprint);
+        }
+    }
+
+    private static String callers() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(MONITORING_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .limit(STACK_DEPTH)
+                .map(frame -> frame.getClassName().substring(APPLICATION_PACKAGE.length()) + "."
+                        + frame.getMethodName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\t\t")));
+    }
+
+    /**
+     * the n statements with the highest value of sort: total (time), calls, mean, max or rows
+     */
+    public List<SqlStatementStatsDTO> top(int n, String sort) {
+        Comparator<SqlStatementStatsDTO> order = switch (sort) {
+            case "calls" -> Comparator.comparingLong(SqlStatementStatsDTO::getCalls);
+            case "mean" -> Comparator.comparingDouble(SqlStatementStatsDTO::getMeanMs);
+            case "max" -> Comparator.comparingDouble(SqlStatementStatsDTO::getMaxMs);
+            case "rows" -> Comparator.comparingLong(SqlStatementStatsDTO::getRows);
+            case "total" -> Comparator.comparingDouble(SqlStatementStatsDTO::getTotalMs);
+            default -> throw new IllegalArgumentException("Unknown sort: " + sort);
+        };
+        return statements.entrySet().stream()
+                .map(entry -> snapshot(entry.getKey(), entry.getValue()))
+                .filter(stats -> stats.getCalls() > 0)
+                .sorted(order.reversed())
+                .limit(n)
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    private static SqlStatementStatsDTO snapshot(String fingerprint, Statement statement) {
+        long calls = statement.calls.sum();
+        double totalMs = statement.totalNanos.sum() / 1_000_000.0;
+        return new SqlStatementStatsDTO(fingerprint, calls, statement.errors.sum(), totalMs,
+                calls == 0 ? 0 : totalMs / calls, statement.maxNanos.get() / 1_000_000.0,
+                statement.rows.sum(), statement.slowCalls.sum());
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return IN_LIST.matcher(normalized).replaceAll("(?, ...)");
+    }
+}
@@ -0,0 +1,172 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * a DataSource whose statements report to SqlStatementStats: how long each execute call took,
+ * how many rows it changed, and how many rows were read from its result sets
+ * the application's DataSource bean is replaced by one of these (see StatisticsDataSourcePostProcessor),
+ * so transactions and JdbcTemplate keep sharing one DataSource and its bound connections
+ */
+public class StatisticsDataSource extends DelegatingDataSource {
+
+    private final SqlStatementStats stats;
+
+    public StatisticsDataSource(DataSource target, SqlStatementStats stats) {
+        super(target);
+        this.stats = stats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(obtainTargetDataSource().getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatisticsDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // the proxy is what callers hold (and what transactions bind), so it is only equal to itself
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private class ConnectionHandler extends Handler {
+
+        ConnectionHandler(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if (result instanceof CallableStatement callable && args != null && args[0] instanceof String sql) {
+                return proxy(CallableStatement.class, new StatementHandler(callable, sql));
+            }
+            if (result instanceof PreparedStatement prepared && args != null && args[0] instanceof String sql) {
+                return proxy(PreparedStatement.class, new StatementHandler(prepared, sql));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler extends Handler {
+
+        // set for prepared statements; plain statements get it with each execute call
+        private final String preparedSql;
+        private SqlStatementStats.Statement current;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            super(statement);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String given ? given : preparedSql;
+                return sql == null ? call(method, args) : execute(sql, method, args);
+            }
+            Object result = call(method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet && current != null) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, current));
+            }
+            return result;
+        }
+
+        private Object execute(String sql, Method method, Object[] args) throws Throwable {
+            SqlStatementStats.Statement statement = stats.statement(sql);
+            current = statement;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = call(method, args);
+                failed = false;
+                if (result instanceof ResultSet resultSet) {
+                    return proxy(ResultSet.class, new ResultSetHandler(resultSet, statement));
+                }
+                if (result instanceof Number count) {
+                    stats.addRows(statement, Math.max(0, count.longValue()));
+                } else if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        stats.addRows(statement, Math.max(0, count));
+                    }
+                } else if (result instanceof long[] counts) {
+                    for (long count : counts) {
+                        stats.addRows(statement, Math.max(0, count));
+                    }
+                }
+                return result;
+            } finally {
+                stats.record(sql, statement, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private class ResultSetHandler extends Handler {
+
+        private final SqlStatementStats.Statement statement;
+
+        ResultSetHandler(ResultSet resultSet, SqlStatementStats.Statement statement) {
+            super(resultSet);
+            this.statement = statement;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.addRows(statement, 1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * wraps every DataSource bean in a StatisticsDataSource
+ */
+@Component
+public class StatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    // looked up lazily: post-processors are created before ordinary beans
+    private final ObjectProvider<SqlStatementStats> stats;
+
+    public StatisticsDataSourcePostProcessor(ObjectProvider<SqlStatementStats> stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatisticsDataSource)) {
+            return new StatisticsDataSource(dataSource, stats.getObject());
+        }
+        return bean;
+    }
+}
@@ -1,10 +1,16 @@
 package edu.sjsu.cs157a.sjsu_event_manager.repository;
 
+import edu.sjsu.cs157a.sjsu_event_manager.cache.BoundedTtlCache;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.CategorySummaryDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.EventVersion;
 import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.InstrumentedJdbcTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -12,12 +18,22 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * this class handles database operations for events using jdbc
@@ -27,15 +43,41 @@ public class EventRepository {
 
     private static final Logger log = LoggerFactory.getLogger(EventRepository.class);
 
+    // columns a partial update may touch
+    private static final Set<String> UPDATABLE_COLUMNS = Set.of(
+        "title", "description", "location", "start_time", "end_time", "category", "max_attendees");
+
+    // registration_count is maintained by RegistrationRepository, so the probe never reads registrations
+    private static final String VERSION_SELECT = "SELECT e.event_id, e.version, e.registration_count, u.username AS organizer_username FROM events e JOIN users u ON u.user_id = e.organizer_id";
+
+    private static final RowMapper<EventVersion> eventVersionRowMapper = (rs, rowNum) -> new EventVersion(
+        rs.getInt("event_id"),
+        rs.getInt("version"),
+        rs.getLong("registration_count"),
+        rs.getString("organizer_username"));
+
     private final JdbcTemplate jdbcTemplate;
-    // inject userrepository to fetch the organizer user object for the event
+    // inject userrepository to fetch the organizer user objects for the events
     private final UserRepository userRepository;
     private final RowMapper<Event> eventRowMapper;
 
+    // near-cache of event rows (with their organizer) by id; null when disabled
+    // it holds private copies and hands out copies, so callers can keep mutating what they get
+    private final BoundedTtlCache<Integer, Event> eventCache;
+
     @Autowired
-    public EventRepository(DataSource dataSource, UserRepository userRepository) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    public EventRepository(DataSource dataSource, UserRepository userRepository,
+                           @Value("${sjsu.app.eventCache.enabled:true}") boolean eventCacheEnabled,
+                           @Value("${sjsu.app.eventCache.ttlMs:30000}") long eventCacheTtlMs,
+                           @Value("${sjsu.app.eventCache.maxEntries:10000}") int eventCacheMaxEntries,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new InstrumentedJdbcTemplate(dataSource, "EventRepository");
         this.userRepository = userRepository;
+        this.eventCache = eventCacheEnabled
+                ? new BoundedTtlCache<>("events", eventCacheTtlMs, eventCacheMaxEntries, meterRegistry)
+                : null;
+        // cached events embed their organizer
+        userRepository.addWriteListener(this::evictOrganizer);
 
         this.eventRowMapper = (rs, rowNum) -> {
             Event event = new Event();
@@ -49,28 +91,47 @@ public class EventRepository {
             event.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
             event.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
             event.setMaxAttendees(rs.getObject("max_attendees") != null ? rs.getInt("max_attendees") : null);
+            event.setVersion(rs.getInt("version"));
 
-            int organizerId = rs.getInt("organizer_id");
-            try {
-                this.userRepository.findById(organizerId).ifPresentOrElse(
-                    event::setOrganizer,
-                    () -> log.warn("Organizer user with ID {} not found for event ID {}", organizerId, event.getEventId())
-                );
-            } catch (DataAccessException e) {
-                log.error("Error fetching organizer user with ID {} for event ID {}: {}", organizerId, event.getEventId(), e.getMessage());
-            }
+            // only the id for now; attachOrganizers loads the users for all rows of a result at once
+            User organizer = new User();
+            organizer.setUserId(rs.getInt("organizer_id"));
+            event.setOrganizer(organizer);
             return event;
         };
     }
 
     /**
      * get an event by its id
+     * memoized for the current request or transaction (see IdentityMap), and otherwise served from the
+     * near-cache when possible; rows written by the current transaction always come from the database
      */
     public Optional<Event> findById(Integer eventId) {
+        Event known = IdentityMap.get(Event.class, eventId);
+        if (known != null) {
+            return Optional.of(known);
+        }
+        boolean cacheable = eventCache != null && !writtenInCurrentTransaction(eventId);
+        if (cacheable) {
+            Event cached = eventCache.get(eventId);
+            if (cached != null) {
+                Event event = copyOf(cached);
+                IdentityMap.put(Event.class, eventId, event);
+                return Optional.of(event);
+            }
+        }
+
         String sql = "SELECT * FROM events WHERE event_id = ?";
-        log.debug("Executing SQL: {} with eventId: {}", sql, eventId);
         try {
+            long cacheGeneration = cacheable ? eventCache.generation() : 0;
             Event event = jdbcTemplate.queryForObject(sql, eventRowMapper, eventId);
+            if (event != null) {
+                attachOrganizers(List.of(event));
+                IdentityMap.put(Event.class, eventId, event);
+                if (cacheable) {
+                    eventCache.put(eventId, copyOf(event), cacheGeneration);
+                }
+            }
             return Optional.ofNullable(event);
         } catch (EmptyResultDataAccessException e) {
             log.trace("No event found with eventId: {}", eventId);
@@ -81,14 +142,84 @@ public class EventRepository {
         }
     }
 
+    /**
+     * get an event by its id straight from the database, skipping the identity map and the near-cache
+     * for writes that check the stored row (ownership, version, changed columns) before changing it;
+     * the row read replaces the event in the identity map
+     */
+    public Optional<Event> findCurrentById(Integer eventId) {
+        return findStored("SELECT * FROM events WHERE event_id = ?", eventId);
+    }
+
+    private Optional<Event> findStored(String sql, Integer eventId) {
+        try {
+            List<Event> events = attachOrganizers(jdbcTemplate.query(sql, eventRowMapper, eventId));
+            if (events.isEmpty()) {
+                return Optional.empty();
+            }
+            Event event = events.get(0);
+            IdentityMap.put(Event.class, eventId, event);
+            return Optional.of(event);
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while reading stored event {}: {}", eventId, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * get the events with the given ids, keyed by id; ids without an event are left out
+     * each id is served like findById (identity map, then near-cache), and the rest are read with
+     * one IN query (per chunk of ids) plus one query for their organizers
+     */
+    public Map<Integer, Event> findAllByIds(Collection<Integer> eventIds) {
+        Map<Integer, Event> events = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (List<Integer> chunk : InClause.chunks(eventIds)) {
+            for (Integer eventId : chunk) {
+                Event known = IdentityMap.get(Event.class, eventId);
+                if (known == null && eventCache != null && !writtenInCurrentTransaction(eventId)) {
+                    Event cached = eventCache.get(eventId);
+                    if (cached != null) {
+                        known = copyOf(cached);
+                        IdentityMap.put(Event.class, eventId, known);
+                    }
+                }
+                if (known != null) {
+                    events.put(eventId, known);
+                } else {
+                    missing.add(eventId);
+                }
+            }
+        }
+
+        long cacheGeneration = eventCache != null ? eventCache.generation() : 0;
+        List<Event> loaded = new ArrayList<>();
+        for (List<Integer> chunk : InClause.chunks(missing)) {
+            String sql = "SELECT * FROM events WHERE event_id IN (" + InClause.placeholders(chunk.size()) + ")";
+            try {
+                loaded.addAll(jdbcTemplate.query(sql, eventRowMapper, chunk.toArray()));
+            } catch (DataAccessException e) {
+                log.error("Error accessing data while finding events by ids {}: {}", chunk, e.getMessage());
+                throw e;
+            }
+        }
+        for (Event event : attachOrganizers(loaded)) {
+            IdentityMap.put(Event.class, event.getEventId(), event);
+            if (eventCache != null && !writtenInCurrentTransaction(event.getEventId())) {
+                eventCache.put(event.getEventId(), copyOf(event), cacheGeneration);
+            }
+            events.put(event.getEventId(), event);
+        }
+        return events;
+    }
+
     /**
      * get all events for an organizer
      */
     public List<Event> findByOrganizerId(Integer organizerId) {
         String sql = "SELECT * FROM events WHERE organizer_id = ?";
-        log.debug("Executing SQL: {} with organizerId: {}", sql, organizerId);
         try {
-            return jdbcTemplate.query(sql, eventRowMapper, organizerId);
+            return attachOrganizers(jdbcTemplate.query(sql, eventRowMapper, organizerId));
         } catch (DataAccessException e) {
             log.error("Error accessing data while finding events by organizerId {}: {}", organizerId, e.getMessage());
             throw e;
@@ -96,27 +227,89 @@ public class EventRepository {
     }
 
     /**
-     * get all events for a category (case-insensitive)
+     * get all events for a category (case-insensitive), ordered by start time
+     * the key is folded here so the query can seek on the (category_key, start_time) index
      */
     public List<Event> findByCategoryIgnoreCase(String category) {
-        String sql = "SELECT * FROM events WHERE LOWER(category) = LOWER(?)";
-        log.debug("Executing SQL: {} with category: {}", sql, category);
+        String sql = "SELECT * FROM events WHERE category_key = ? ORDER BY start_time";
+        String categoryKey = toCategoryKey(category);
         try {
-            return jdbcTemplate.query(sql, eventRowMapper, category);
+            return attachOrganizers(jdbcTemplate.query(sql, eventRowMapper, categoryKey));
         } catch (DataAccessException e) {
             log.error("Error accessing data while finding events by category {}: {}", category, e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * count events per category starting at or after the given time
+     * groups on category_key so the (category_key, start_time) index covers the scan
+     */
+    public List<CategorySummaryDTO> countUpcomingByCategory(LocalDateTime from) {
+        String sql = "SELECT category_key, MIN(category) AS category, COUNT(*) AS upcoming_count FROM events WHERE start_time >= ? GROUP BY category_key ORDER BY category_key";
+        try {
+            return jdbcTemplate.query(sql, (rs, rowNum) -> new CategorySummaryDTO(
+                    rs.getString("category"),
+                    rs.getString("category_key"),
+                    rs.getLong("upcoming_count")), Timestamp.valueOf(from));
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while counting upcoming events by category: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    // must match the LOWER(category) expression behind the category_key column
+    private static String toCategoryKey(String category) {
+        return category == null ? null : category.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * get the change-tracking columns of every event, ordered by id
+     * reads only the narrow change-tracking columns (and the organizer's username); descriptions and registrations are never read
+     */
+    public List<EventVersion> findVersions() {
+        String sql = VERSION_SELECT + " ORDER BY e.event_id";
+        try {
+            return jdbcTemplate.query(sql, eventVersionRowMapper);
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while finding event versions: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * get the change-tracking columns of every event in a category (case-insensitive), ordered by id
+     */
+    public List<EventVersion> findVersionsByCategoryIgnoreCase(String category) {
+        String sql = VERSION_SELECT + " WHERE e.category_key = ? ORDER BY e.event_id";
+        try {
+            return jdbcTemplate.query(sql, eventVersionRowMapper, toCategoryKey(category));
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while finding event versions by category {}: {}", category, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * get the change-tracking columns of one event
+     */
+    public Optional<EventVersion> findVersionById(Integer eventId) {
+        String sql = VERSION_SELECT + " WHERE e.event_id = ?";
+        try {
+            return jdbcTemplate.query(sql, eventVersionRowMapper, eventId).stream().findFirst();
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while finding version of event {}: {}", eventId, e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * get all events
      */
     public List<Event> findAll() {
          String sql = "SELECT * FROM events";
-         log.debug("Executing SQL: {}", sql);
           try {
-             return jdbcTemplate.query(sql, eventRowMapper);
+             return attachOrganizers(jdbcTemplate.query(sql, eventRowMapper));
          } catch (DataAccessException e) {
              log.error("Error accessing data while finding all events: {}", e.getMessage());
              throw e;
@@ -152,13 +345,16 @@ public class EventRepository {
 
     /**
      * insert a new event into the database
+     * the saved event is built from the input plus the generated id and timestamps,
+     * so no full re-select (and organizer lookup) is needed afterwards
      */
     private Event insertEvent(Event event) {
         String sql = "INSERT INTO events (title, description, location, start_time, end_time, category, organizer_id, max_attendees) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         int rowsAffected = jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            // ask for the timestamps too; drivers that only return the key ignore the extra columns
+            PreparedStatement ps = connection.prepareStatement(sql, new String[] {"event_id", "created_at", "updated_at", "version"});
             ps.setString(1, event.getTitle());
             ps.setString(2, event.getDescription());
             ps.setString(3, event.getLocation());
@@ -179,39 +375,30 @@ public class EventRepository {
              throw new RuntimeException("Event insert failed for title: " + event.getTitle());
         }
 
-        Number key = null;
-        if (keyHolder.getKeys() != null && !keyHolder.getKeys().isEmpty()) {
-            Map<String, Object> keys = keyHolder.getKeys();
-            if (keys.containsKey("event_id")) {
-                key = (Number) keys.get("event_id");
-            } else if (keyHolder.getKeyList().size() > 0) {
-                Map<String, Object> firstKeyMap = keyHolder.getKeyList().get(0);
-                if (firstKeyMap.containsKey("event_id")) {
-                    key = (Number) firstKeyMap.get("event_id");
-                }
-            }
-        }
-        
-        if (key == null && keyHolder.getKey() != null) {
-            key = keyHolder.getKey();
-        }
-
-        if (key != null) {
-            event.setEventId(key.intValue());
-            log.info("Successfully inserted event with ID: {} and title: {}", event.getEventId(), event.getTitle());
-            return findById(event.getEventId())
-                   .orElseThrow(() -> new RuntimeException("Failed to fetch newly inserted event with ID: " + event.getEventId()));
-        } else {
+        Number key = GeneratedValues.key(keyHolder, "event_id");
+        if (key == null) {
             log.error("Failed to retrieve generated key for inserted event: {}", event.getTitle());
             throw new RuntimeException("Failed to retrieve generated key for event: " + event.getTitle());
         }
+
+        event.setEventId(key.intValue());
+        event.setCreatedAt(GeneratedValues.timestamp(keyHolder, "created_at"));
+        event.setUpdatedAt(GeneratedValues.timestamp(keyHolder, "updated_at"));
+        event.setVersion(0);
+        if (event.getCreatedAt() == null || event.getUpdatedAt() == null) {
+            refreshGeneratedColumns(event);
+        }
+        evict(event.getEventId());
+        log.info("Successfully inserted event with ID: {} and title: {}", event.getEventId(), event.getTitle());
+        return event;
     }
 
     /**
      * update an existing event
+     * returns the input with the database-computed updated_at and version refreshed
      */
     private Event updateEvent(Event event) {
-        String sql = "UPDATE events SET title = ?, description = ?, location = ?, start_time = ?, end_time = ?, category = ?, organizer_id = ?, max_attendees = ? WHERE event_id = ?";
+        String sql = "UPDATE events SET title = ?, description = ?, location = ?, start_time = ?, end_time = ?, category = ?, organizer_id = ?, max_attendees = ?, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE event_id = ?";
         int rowsAffected = jdbcTemplate.update(sql,
             event.getTitle(),
             event.getDescription(),
@@ -222,15 +409,88 @@ public class EventRepository {
             event.getOrganizer().getUserId(),
             event.getMaxAttendees(),
             event.getEventId());
+        evict(event.getEventId());
 
         if (rowsAffected == 0) {
              log.warn("Attempted to update event with ID {} but no rows were affected. Event might not exist.", event.getEventId());
-        } else {
-            log.info("Successfully updated event with ID: {}", event.getEventId());
+             throw new RuntimeException("Event update matched no row with ID: " + event.getEventId());
         }
+        log.info("Successfully updated event with ID: {}", event.getEventId());
 
-        return findById(event.getEventId())
-               .orElseThrow(() -> new RuntimeException("Failed to fetch event after update with ID: " + event.getEventId()));
+        refreshGeneratedColumns(event);
+        return event;
+    }
+
+    /**
+     * update only the given columns of an event in a single statement and bump its version
+     * keys are column names (see UPDATABLE_COLUMNS). when organizerId / expectedVersion are not
+     * null they are part of the where clause, so ownership and optimistic concurrency are checked
+     * by the update itself without locking the row first. a start_time or end_time changed on
+     * its own is checked against the stored other end so the range can't be inverted
+     * returns the number of rows changed: 0 means missing, not owned, stale version, or an inverted time range
+     */
+    public int updateColumns(Integer eventId, Map<String, Object> changes, Integer organizerId, Integer expectedVersion) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be updated");
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE events SET ");
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (!UPDATABLE_COLUMNS.contains(change.getKey())) {
+                throw new IllegalArgumentException("Column cannot be updated: " + change.getKey());
+            }
+            sql.append(change.getKey()).append(" = ?, ");
+            Object value = change.getValue();
+            args.add(value instanceof LocalDateTime time ? Timestamp.valueOf(time) : value);
+        }
+        sql.append("updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE event_id = ?");
+        args.add(eventId);
+
+        if (organizerId != null) {
+            sql.append(" AND organizer_id = ?");
+            args.add(organizerId);
+        }
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        if (changes.containsKey("start_time") && !changes.containsKey("end_time")) {
+            sql.append(" AND end_time >= ?");
+            args.add(Timestamp.valueOf((LocalDateTime) changes.get("start_time")));
+        } else if (changes.containsKey("end_time") && !changes.containsKey("start_time")) {
+            sql.append(" AND start_time <= ?");
+            args.add(Timestamp.valueOf((LocalDateTime) changes.get("end_time")));
+        }
+
+        try {
+            int rowsAffected = jdbcTemplate.update(sql.toString(), args.toArray());
+            if (rowsAffected > 0) {
+                evict(eventId);
+                log.info("Successfully updated columns {} of event with ID: {}", changes.keySet(), eventId);
+            }
+            return rowsAffected;
+        } catch (DataAccessException e) {
+            log.error("Error updating columns {} of event with ID {}: {}", changes.keySet(), eventId, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * re-read only the database-maintained columns (timestamps and version) of a saved event
+     */
+    public void refreshGeneratedColumns(Event event) {
+        String sql = "SELECT created_at, updated_at, version FROM events WHERE event_id = ?";
+        try {
+            jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+                event.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                event.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+                event.setVersion(rs.getInt("version"));
+                return event;
+            }, event.getEventId());
+        } catch (EmptyResultDataAccessException e) {
+            throw new RuntimeException("Failed to refresh event with ID: " + event.getEventId(), e);
+        }
     }
 
     /**
@@ -238,9 +498,9 @@ public class EventRepository {
      */
     public void deleteById(Integer eventId) {
         String sql = "DELETE FROM events WHERE event_id = ?";
-        log.debug("Executing SQL: {} with eventId: {}", sql, eventId);
         try {
             int rowsAffected = jdbcTemplate.update(sql, eventId);
+            evict(eventId);
              if (rowsAffected == 0) {
                 log.warn("Attempted to delete event with ID {} but no rows were affected. Event might not exist.", eventId);
             } else {
@@ -252,12 +512,26 @@ public class EventRepository {
         }
     }
 
+    /**
+     * lock an event's row until the current transaction ends and return it as stored; empty when there is no such event
+     * registration changes for an event take this lock first, so their capacity checks and writes do not interleave;
+     * the checks read max_attendees and the organizer from the locked row, never from the near-cache
+     */
+    public Optional<Event> lockById(Integer eventId) {
+        return findStored("SELECT * FROM events WHERE event_id = ? FOR UPDATE", eventId);
+    }
+
     /**
      * check if an event exists by its id
      */
     public boolean existsById(Integer eventId) {
+        if (IdentityMap.get(Event.class, eventId) != null) {
+            return true;
+        }
+        if (eventCache != null && !writtenInCurrentTransaction(eventId) && eventCache.get(eventId) != null) {
+            return true;
+        }
         String sql = "SELECT COUNT(*) FROM events WHERE event_id = ?";
-        log.debug("Executing SQL: {} with eventId: {}", sql, eventId);
         try {
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, eventId);
             return count != null && count > 0;
@@ -266,4 +540,130 @@ public class EventRepository {
             throw e;
         }
     }
+
+    /**
+     * drop every event row from the near-cache, e.g. after rows were changed behind the repository's back
+     */
+    public void clearCache() {
+        if (eventCache != null) {
+            eventCache.clear();
+        }
+    }
+
+    /**
+     * drop a written event from the identity map and the near-cache, and from the near-cache again when the
+     * surrounding transaction completes
+     * until then the current transaction reads that event from the database and does not cache it,
+     * so uncommitted rows never reach other threads
+     */
+    private void evict(Integer eventId) {
+        IdentityMap.evict(Event.class, eventId);
+        if (eventCache == null) {
+            return;
+        }
+        eventCache.invalidate(eventId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Integer> written = (Set<Integer>) TransactionSynchronizationManager.getResource(eventCache);
+        if (written == null) {
+            Set<Integer> writtenEvents = new HashSet<>();
+            written = writtenEvents;
+            TransactionSynchronizationManager.bindResource(eventCache, writtenEvents);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(eventCache);
+                    writtenEvents.forEach(eventCache::invalidate);
+                }
+            });
+        }
+        written.add(eventId);
+    }
+
+    /**
+     * drop the events organized by a changed or deleted user from the near-cache, and again when the
+     * surrounding transaction completes, so a copy read before the commit is not served after it
+     */
+    private void evictOrganizer(Integer userId) {
+        if (eventCache == null) {
+            return;
+        }
+        Predicate<Event> organizedBy = event -> event.getOrganizer() != null && userId.equals(event.getOrganizer().getUserId());
+        eventCache.invalidateIf(organizedBy);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eventCache.invalidateIf(organizedBy);
+                }
+            });
+        }
+    }
+
+    /**
+     * replace the id-only organizers set by the row mapper with the users, loaded in one query
+     * an organizer that cannot be loaded is left unset, as before
+     */
+    private List<Event> attachOrganizers(List<Event> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        List<Integer> organizerIds = new ArrayList<>(events.size());
+        for (Event event : events) {
+            organizerIds.add(event.getOrganizer().getUserId());
+        }
+        Map<Integer, User> organizers;
+        try {
+            organizers = userRepository.findAllByIds(organizerIds);
+        } catch (DataAccessException e) {
+            log.error("Error fetching organizer users {}: {}", organizerIds, e.getMessage());
+            organizers = Map.of();
+        }
+        for (Event event : events) {
+            Integer organizerId = event.getOrganizer().getUserId();
+            User organizer = organizers.get(organizerId);
+            if (organizer == null) {
+                log.warn("Organizer user with ID {} not found for event ID {}", organizerId, event.getEventId());
+            }
+            event.setOrganizer(organizer);
+        }
+        return events;
+    }
+
+    private boolean writtenInCurrentTransaction(Integer eventId) {
+        Object written = TransactionSynchronizationManager.getResource(eventCache);
+        return written != null && ((Set<?>) written).contains(eventId);
+    }
+
+    private static Event copyOf(Event event) {
+        Event copy = new Event();
+        copy.setEventId(event.getEventId());
+        copy.setTitle(event.getTitle());
+        copy.setDescription(event.getDescription());
+        copy.setLocation(event.getLocation());
+        copy.setStartTime(event.getStartTime());
+        copy.setEndTime(event.getEndTime());
+        copy.setCategory(event.getCategory());
+        copy.setCreatedAt(event.getCreatedAt());
+        copy.setUpdatedAt(event.getUpdatedAt());
+        copy.setMaxAttendees(event.getMaxAttendees());
+        copy.setVersion(event.getVersion());
+        User organizer = event.getOrganizer();
+        if (organizer != null) {
+            User organizerCopy = new User();
+            organizerCopy.setUserId(organizer.getUserId());
+            organizerCopy.setUsername(organizer.getUsername());
+            organizerCopy.setEmail(organizer.getEmail());
+            organizerCopy.setPasswordHash(organizer.getPasswordHash());
+            organizerCopy.setFirstName(organizer.getFirstName());
+            organizerCopy.setLastName(organizer.getLastName());
+            organizerCopy.setRole(organizer.getRole());
+            organizerCopy.setCreatedAt(organizer.getCreatedAt());
+            organizerCopy.setUpdatedAt(organizer.getUpdatedAt());
+            copy.setOrganizer(organizerCopy);
+        }
+        return copy;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package edu.sjsu.cs157a.sjsu_event_manager.repository;
+
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * helpers for reading values the database generated during an insert
+ * drivers differ in what they hand back: h2 returns every requested column,
+ * mysql only returns the auto-increment key (as GENERATED_KEY)
+ */
+final class GeneratedValues {
+
+    private GeneratedValues() {
+    }
+
+    /**
+     * the generated id, looked up by column name first and falling back to the single generated key
+     */
+    static Number key(KeyHolder keyHolder, String idColumn) {
+        Map<String, Object> keys = firstRow(keyHolder);
+        if (keys != null && keys.get(idColumn) instanceof Number key) {
+            return key;
+        }
+        if (keys != null && keys.size() == 1 && keys.values().iterator().next() instanceof Number key) {
+            return key;
+        }
+        return null;
+    }
+
+    /**
+     * a generated timestamp column, or null when the driver did not return it
+     */
+    static LocalDateTime timestamp(KeyHolder keyHolder, String column) {
+        Map<String, Object> keys = firstRow(keyHolder);
+        return keys != null ? toLocalDateTime(keys.get(column)) : null;
+    }
+
+    static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toLocalDateTime();
+        }
+        return null;
+    }
+
+    // the key maps are case-insensitive, so "event_id" matches EVENT_ID as well
+    private static Map<String, Object> firstRow(KeyHolder keyHolder) {
+        if (keyHolder.getKeyList().isEmpty()) {
+            return null;
+        }
+        return keyHolder.getKeyList().get(0);
+    }
+}
@@ -0,0 +1,91 @@
+package edu.sjsu.cs157a.sjsu_event_manager.repository;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * memoizes rows loaded by id for the current transaction, or else the current web request
+ * the same id always yields the same object within that unit of work, so mappers that look up the same
+ * organizer or event once per row only hit the database once. outside both scopes nothing is memoized
+ * repositories must evict rows they write
+ */
+final class IdentityMap {
+
+    private static final String RESOURCE_KEY = IdentityMap.class.getName();
+
+    private record Key(Class<?> type, Object id) {
+    }
+
+    private IdentityMap() {
+    }
+
+    static <T> T get(Class<T> type, Object id) {
+        Map<Key, Object> rows = current(false);
+        return rows == null ? null : type.cast(rows.get(new Key(type, id)));
+    }
+
+    static void put(Class<?> type, Object id, Object row) {
+        Map<Key, Object> rows = current(true);
+        if (rows != null) {
+            rows.put(new Key(type, id), row);
+        }
+    }
+
+    // a write inside a transaction must not leave the request's copy behind either
+    static void evict(Class<?> type, Object id) {
+        Key key = new Key(type, id);
+        Map<Key, Object> transactionRows = transactionRows(false);
+        if (transactionRows != null) {
+            transactionRows.remove(key);
+        }
+        Map<Key, Object> requestRows = requestRows(false);
+        if (requestRows != null) {
+            requestRows.remove(key);
+        }
+    }
+
+    private static Map<Key, Object> current(boolean create) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            return transactionRows(create);
+        }
+        return requestRows(create);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Object> transactionRows(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Key, Object> rows = (Map<Key, Object>) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (rows == null && create) {
+            rows = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Object> requestRows(boolean create) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return null;
+        }
+        Map<Key, Object> rows = (Map<Key, Object>) request.getAttribute(RESOURCE_KEY, RequestAttributes.SCOPE_REQUEST);
+        if (rows == null && create) {
+            rows = new HashMap<>();
+            request.setAttribute(RESOURCE_KEY, rows, RequestAttributes.SCOPE_REQUEST);
+        }
+        return rows;
+    }
+}
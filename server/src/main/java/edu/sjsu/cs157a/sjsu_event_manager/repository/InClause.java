@@ -0,0 +1,40 @@
+package edu.sjsu.cs157a.sjsu_event_manager.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * helpers for looking rows up by a list of ids with "column IN (?, ?, ...)"
+ * long lists are split into chunks so no single statement grows without bound
+ */
+final class InClause {
+
+    static final int MAX_IDS_PER_QUERY = 500;
+
+    private InClause() {
+    }
+
+    /**
+     * the distinct non-null ids, in first-seen order, split into chunks of at most MAX_IDS_PER_QUERY
+     */
+    static <T> List<List<T>> chunks(Collection<T> ids) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(Objects::isNull);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_IDS_PER_QUERY) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * "?, ?, ?" for count parameters
+     */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -3,12 +3,14 @@ package edu.sjsu.cs157a.sjsu_event_manager.repository;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
 import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.InstrumentedJdbcTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -16,14 +18,25 @@ import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 // this class handles database operations for registrations using jdbc
 @Repository
 public class RegistrationRepository {
 
+    // events.registration_count is kept in step with the rows here, in the same transaction as the insert or delete,
+    // so the version probe can read it instead of counting registrations. updated_at is assigned to itself so
+    // MySQL's ON UPDATE CURRENT_TIMESTAMP leaves it alone: a registration does not modify the event
+    private static final String DECREMENT_COUNT_OF_REGISTRATION =
+        "UPDATE events SET registration_count = registration_count - 1, updated_at = updated_at WHERE event_id = (SELECT event_id FROM registrations WHERE registration_id = ?)";
+
     private static final Logger log = LoggerFactory.getLogger(RegistrationRepository.class);
 
     private final JdbcTemplate jdbcTemplate;
@@ -33,7 +46,7 @@ public class RegistrationRepository {
 
     @Autowired
     public RegistrationRepository(DataSource dataSource, UserRepository userRepository, EventRepository eventRepository) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate = new InstrumentedJdbcTemplate(dataSource, "RegistrationRepository");
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
 
@@ -43,25 +56,13 @@ public class RegistrationRepository {
             registration.setRegistrationId(registrationId);
             registration.setRegistrationTime(rs.getTimestamp("registration_time").toLocalDateTime());
 
-            int userId = rs.getInt("user_id");
-            try {
-                this.userRepository.findById(userId).ifPresentOrElse(
-                    registration::setUser,
-                    () -> log.warn("User with ID {} not found for registration ID {}", userId, registrationId)
-                );
-            } catch (DataAccessException e) {
-                log.error("Error fetching user {} for registration {}: {}", userId, registrationId, e.getMessage());
-            }
-
-            int eventId = rs.getInt("event_id");
-            try {
-                this.eventRepository.findById(eventId).ifPresentOrElse(
-                    registration::setEvent,
-                    () -> log.warn("Event with ID {} not found for registration ID {}", eventId, registrationId)
-                );
-            } catch (DataAccessException e) {
-                log.error("Error fetching event {} for registration {}: {}", eventId, registrationId, e.getMessage());
-            }
+            // only the ids for now; attachUsersAndEvents loads them for all rows of a result at once
+            User user = new User();
+            user.setUserId(rs.getInt("user_id"));
+            registration.setUser(user);
+            Event event = new Event();
+            event.setEventId(rs.getInt("event_id"));
+            registration.setEvent(event);
             return registration;
         };
     }
@@ -69,9 +70,9 @@ public class RegistrationRepository {
     // get a registration by its id
     public Optional<Registration> findById(Integer registrationId) {
         String sql = "SELECT * FROM registrations WHERE registration_id = ?";
-        log.debug("Executing SQL: {} with registrationId: {}", sql, registrationId);
         try {
             Registration registration = jdbcTemplate.queryForObject(sql, registrationRowMapper, registrationId);
+            attachUsersAndEvents(List.of(registration));
             return Optional.ofNullable(registration);
         } catch (EmptyResultDataAccessException e) {
             log.trace("No registration found with registrationId: {}", registrationId);
@@ -85,9 +86,9 @@ public class RegistrationRepository {
     // get a registration for a specific user and event
     public Optional<Registration> findByUserAndEvent(Integer userId, Integer eventId) {
         String sql = "SELECT * FROM registrations WHERE user_id = ? AND event_id = ?";
-        log.debug("Executing SQL: {} with userId: {}, eventId: {}", sql, userId, eventId);
         try {
             Registration registration = jdbcTemplate.queryForObject(sql, registrationRowMapper, userId, eventId);
+            attachUsersAndEvents(List.of(registration));
             return Optional.ofNullable(registration);
         } catch (EmptyResultDataAccessException e) {
             log.trace("No registration found for userId: {}, eventId: {}", userId, eventId);
@@ -101,9 +102,8 @@ public class RegistrationRepository {
     // get all registrations for a user
     public List<Registration> findByUserId(Integer userId) {
         String sql = "SELECT * FROM registrations WHERE user_id = ?";
-        log.debug("Executing SQL: {} with userId: {}", sql, userId);
          try {
-            return jdbcTemplate.query(sql, registrationRowMapper, userId);
+            return attachUsersAndEvents(jdbcTemplate.query(sql, registrationRowMapper, userId));
         } catch (DataAccessException e) {
             log.error("Error accessing data while finding registrations by userId {}: {}", userId, e.getMessage());
             throw e;
@@ -113,19 +113,39 @@ public class RegistrationRepository {
     // get all registrations for an event
     public List<Registration> findByEventId(Integer eventId) {
         String sql = "SELECT * FROM registrations WHERE event_id = ?";
-        log.debug("Executing SQL: {} with eventId: {}", sql, eventId);
         try {
-            return jdbcTemplate.query(sql, registrationRowMapper, eventId);
+            return attachUsersAndEvents(jdbcTemplate.query(sql, registrationRowMapper, eventId));
         } catch (DataAccessException e) {
             log.error("Error accessing data while finding registrations by eventId {}: {}", eventId, e.getMessage());
             throw e;
         }
     }
 
+    // get the most recent registrations for an event, newest first
+    public List<Registration> findLatestByEventId(Integer eventId, int limit) {
+        String sql = "SELECT * FROM registrations WHERE event_id = ? ORDER BY registration_time DESC, registration_id DESC LIMIT ?";
+        try {
+            return attachUsersAndEvents(jdbcTemplate.query(sql, registrationRowMapper, eventId, limit));
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while finding latest registrations by eventId {}: {}", eventId, e.getMessage());
+            throw e;
+        }
+    }
+
+    // get the ids of the events a user is registered for; the (user_id, event_id) unique index covers the query
+    public Set<Integer> findEventIdsByUserId(Integer userId) {
+        String sql = "SELECT event_id FROM registrations WHERE user_id = ?";
+        try {
+            return new HashSet<>(jdbcTemplate.queryForList(sql, Integer.class, userId));
+        } catch (DataAccessException e) {
+            log.error("Error accessing data while finding registered event ids by userId {}: {}", userId, e.getMessage());
+            throw e;
+        }
+    }
+
     // check if a registration exists for a user and event
     public boolean existsByUserAndEvent(Integer userId, Integer eventId) {
         String sql = "SELECT COUNT(*) FROM registrations WHERE user_id = ? AND event_id = ?";
-        log.debug("Executing SQL: {} with userId: {}, eventId: {}", sql, userId, eventId);
         try {
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, userId, eventId);
             return count != null && count > 0;
@@ -138,7 +158,6 @@ public class RegistrationRepository {
     // check if a registration exists for an event and user (for compatibility with EventService)
     public boolean existsByEventIdAndUserId(Integer eventId, Integer userId) {
         String sql = "SELECT COUNT(*) FROM registrations WHERE event_id = ? AND user_id = ?";
-        log.debug("Executing SQL: {} with eventId: {}, userId: {}", sql, eventId, userId);
         try {
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, eventId, userId);
             return count != null && count > 0;
@@ -151,7 +170,6 @@ public class RegistrationRepository {
     // count how many registrations there are for an event
     public long countByEventId(Integer eventId) {
         String sql = "SELECT COUNT(*) FROM registrations WHERE event_id = ?";
-        log.debug("Executing SQL: {} with eventId: {}", sql, eventId);
         try {
             Long count = jdbcTemplate.queryForObject(sql, Long.class, eventId);
             return count != null ? count : 0L;
@@ -161,18 +179,82 @@ public class RegistrationRepository {
         }
     }
 
+    // count registrations for each of the given events in one grouped query; events without any count 0
+    public Map<Integer, Long> countByEventIds(Collection<Integer> eventIds) {
+        Map<Integer, Long> counts = new HashMap<>();
+        for (List<Integer> chunk : InClause.chunks(eventIds)) {
+            String sql = "SELECT event_id, COUNT(*) AS registration_count FROM registrations WHERE event_id IN ("
+                    + InClause.placeholders(chunk.size()) + ") GROUP BY event_id";
+            try {
+                for (Integer eventId : chunk) {
+                    counts.put(eventId, 0L);
+                }
+                jdbcTemplate.query(sql, (RowCallbackHandler) rs -> counts.put(rs.getInt("event_id"), rs.getLong("registration_count")),
+                        chunk.toArray());
+            } catch (DataAccessException e) {
+                log.error("Error counting registrations for eventIds {}: {}", chunk, e.getMessage());
+                throw e;
+            }
+        }
+        return counts;
+    }
+
     // get all registrations in the database
     public List<Registration> findAll() {
         String sql = "SELECT * FROM registrations";
-        log.debug("Executing SQL: {}", sql);
         try {
-            return jdbcTemplate.query(sql, registrationRowMapper);
+            return attachUsersAndEvents(jdbcTemplate.query(sql, registrationRowMapper));
         } catch (DataAccessException e) {
             log.error("Error finding all registrations: {}", e.getMessage());
             throw e;
         }
    }
 
+   // replace the id-only users and events set by the row mapper with the full rows, one query for each
+   // a user or event that cannot be loaded is left unset, as before
+    private List<Registration> attachUsersAndEvents(List<Registration> registrations) {
+        if (registrations.isEmpty()) {
+            return registrations;
+        }
+        List<Integer> userIds = new ArrayList<>(registrations.size());
+        List<Integer> eventIds = new ArrayList<>(registrations.size());
+        for (Registration registration : registrations) {
+            userIds.add(registration.getUser().getUserId());
+            eventIds.add(registration.getEvent().getEventId());
+        }
+
+        Map<Integer, User> users;
+        try {
+            users = userRepository.findAllByIds(userIds);
+        } catch (DataAccessException e) {
+            log.error("Error fetching users {} for registrations: {}", userIds, e.getMessage());
+            users = Map.of();
+        }
+        Map<Integer, Event> events;
+        try {
+            events = eventRepository.findAllByIds(eventIds);
+        } catch (DataAccessException e) {
+            log.error("Error fetching events {} for registrations: {}", eventIds, e.getMessage());
+            events = Map.of();
+        }
+
+        for (Registration registration : registrations) {
+            Integer userId = registration.getUser().getUserId();
+            Integer eventId = registration.getEvent().getEventId();
+            User user = users.get(userId);
+            Event event = events.get(eventId);
+            if (user == null) {
+                log.warn("User with ID {} not found for registration ID {}", userId, registration.getRegistrationId());
+            }
+            if (event == null) {
+                log.warn("Event with ID {} not found for registration ID {}", eventId, registration.getRegistrationId());
+            }
+            registration.setUser(user);
+            registration.setEvent(event);
+        }
+        return registrations;
+    }
+
    // save a registration (insert if new, update if it already has an id)
    // registration must have a user and event with valid ids
     public Registration save(Registration registration) {
@@ -223,6 +305,7 @@ public class RegistrationRepository {
              log.error("Failed to insert registration, no rows affected. User ID: {}, Event ID: {}", registration.getUser().getUserId(), registration.getEvent().getEventId());
              throw new RuntimeException("Registration insert failed.");
         }
+        adjustRegistrationCount(registration.getEvent().getEventId(), 1);
 
         // Extract registration_id from the generated keys
         Number key = null;
@@ -261,6 +344,8 @@ public class RegistrationRepository {
          String sql = "UPDATE registrations SET user_id = ?, event_id = ?, registration_time = ? WHERE registration_id = ?";
          java.time.LocalDateTime registrationTime = registration.getRegistrationTime() != null ? registration.getRegistrationTime() : java.time.LocalDateTime.now();
 
+         // the registration may move to another event, so take it off the old event's count first
+         jdbcTemplate.update(DECREMENT_COUNT_OF_REGISTRATION, registration.getRegistrationId());
          int rowsAffected = jdbcTemplate.update(sql,
             registration.getUser().getUserId(),
             registration.getEvent().getEventId(),
@@ -270,6 +355,7 @@ public class RegistrationRepository {
          if (rowsAffected == 0) {
              log.warn("Attempted to update registration with ID {} but no rows affected.", registration.getRegistrationId());
          } else {
+             adjustRegistrationCount(registration.getEvent().getEventId(), 1);
              log.info("Successfully updated registration with ID: {}", registration.getRegistrationId());
          }
          // set the time we used for the update
@@ -280,8 +366,8 @@ public class RegistrationRepository {
     // delete a registration by its id
      public void deleteById(Integer registrationId) {
         String sql = "DELETE FROM registrations WHERE registration_id = ?";
-        log.debug("Executing SQL: {} with registrationId: {}", sql, registrationId);
         try {
+            jdbcTemplate.update(DECREMENT_COUNT_OF_REGISTRATION, registrationId);
             int rowsAffected = jdbcTemplate.update(sql, registrationId);
             if (rowsAffected == 0) {
                 log.warn("Attempted to delete registration with ID {} but no rows were affected. Registration might not exist.", registrationId);
@@ -293,4 +379,8 @@ public class RegistrationRepository {
             throw e;
         }
     }
-} 
\ No newline at end of file
+
+    private void adjustRegistrationCount(Integer eventId, int delta) {
+        jdbcTemplate.update("UPDATE events SET registration_count = registration_count + ?, updated_at = updated_at WHERE event_id = ?", delta, eventId);
+    }
+}
@@ -1,6 +1,7 @@
 package edu.sjsu.cs157a.sjsu_event_manager.repository;
 
 import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.InstrumentedJdbcTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +15,14 @@ import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * this class handles database operations for users using jdbc
@@ -31,7 +37,22 @@ public class UserRepository {
 
     @Autowired
     public UserRepository(DataSource dataSource) {
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate = new InstrumentedJdbcTemplate(dataSource, "UserRepository");
+    }
+
+    // told the id of each user updated or deleted, so caches holding copies of the user can drop them
+    private final List<Consumer<Integer>> writeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * call the listener with the user's id after each update or delete of a user
+     */
+    public void addWriteListener(Consumer<Integer> listener) {
+        writeListeners.add(listener);
+    }
+
+    private void userWritten(Integer userId) {
+        IdentityMap.evict(User.class, userId);
+        writeListeners.forEach(listener -> listener.accept(userId));
     }
 
     // this maps a row from the database to a user object
@@ -56,12 +77,19 @@ public class UserRepository {
 
     /**
      * get a user by their id
+     * memoized for the current request or transaction (see IdentityMap)
      */
     public Optional<User> findById(Integer userId) {
+        User known = IdentityMap.get(User.class, userId);
+        if (known != null) {
+            return Optional.of(known);
+        }
         String sql = "SELECT * FROM users WHERE user_id = ?";
-        log.debug("Executing SQL: {} with userId: {}", sql, userId);
         try {
             User user = jdbcTemplate.queryForObject(sql, userRowMapper, userId);
+            if (user != null) {
+                IdentityMap.put(User.class, userId, user);
+            }
             return Optional.ofNullable(user);
         } catch (EmptyResultDataAccessException e) {
             log.trace("No user found with userId: {}", userId);
@@ -72,12 +100,43 @@ public class UserRepository {
         }
     }
 
+    /**
+     * get the users with the given ids, keyed by id; ids without a user are left out
+     * memoized like findById, and the rest are read with one IN query (per chunk of ids)
+     */
+    public Map<Integer, User> findAllByIds(Collection<Integer> userIds) {
+        Map<Integer, User> users = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (List<Integer> chunk : InClause.chunks(userIds)) {
+            for (Integer userId : chunk) {
+                User known = IdentityMap.get(User.class, userId);
+                if (known != null) {
+                    users.put(userId, known);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        for (List<Integer> chunk : InClause.chunks(missing)) {
+            String sql = "SELECT * FROM users WHERE user_id IN (" + InClause.placeholders(chunk.size()) + ")";
+            try {
+                for (User user : jdbcTemplate.query(sql, userRowMapper, chunk.toArray())) {
+                    IdentityMap.put(User.class, user.getUserId(), user);
+                    users.put(user.getUserId(), user);
+                }
+            } catch (DataAccessException e) {
+                log.error("Error accessing data while finding users by ids {}: {}", chunk, e.getMessage());
+                throw e;
+            }
+        }
+        return users;
+    }
+
     /**
      * get a user by their username
      */
     public Optional<User> findByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
-        log.debug("Executing SQL: {} with username: {}", sql, username);
         try {
             User user = jdbcTemplate.queryForObject(sql, userRowMapper, username);
             return Optional.ofNullable(user);
@@ -95,7 +154,6 @@ public class UserRepository {
      */
     public Optional<User> findByEmail(String email) {
         String sql = "SELECT * FROM users WHERE email = ?";
-        log.debug("Executing SQL: {} with email: {}", sql, email);
         try {
             User user = jdbcTemplate.queryForObject(sql, userRowMapper, email);
             return Optional.ofNullable(user);
@@ -113,7 +171,6 @@ public class UserRepository {
      */
     public Boolean existsByUsername(String username) {
         String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-        log.debug("Executing SQL: {} with username: {}", sql, username);
         try {
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, username);
             return count != null && count > 0;
@@ -128,7 +185,6 @@ public class UserRepository {
      */
     public Boolean existsByEmail(String email) {
         String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-        log.debug("Executing SQL: {} with email: {}", sql, email);
         try {
             Integer count = jdbcTemplate.queryForObject(sql, Integer.class, email);
             return count != null && count > 0;
@@ -143,7 +199,6 @@ public class UserRepository {
      */
     public List<User> findAll() {
         String sql = "SELECT * FROM users";
-        log.debug("Executing SQL: {}", sql);
         try {
             return jdbcTemplate.query(sql, userRowMapper);
         } catch (DataAccessException e) {
@@ -175,19 +230,22 @@ public class UserRepository {
 
     /**
      * insert a new user into the database
+     * the saved user is built from the input plus the generated id and timestamps
      */
     private User insertUser(User user) {
         String sql = "INSERT INTO users (username, email, password_hash, first_name, last_name, role) VALUES (?, ?, ?, ?, ?, ?)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
+        User.Role role = user.getRole() != null ? user.getRole() : User.Role.USER;
 
         int rowsAffected = jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            // ask for the timestamps too; drivers that only return the key ignore the extra columns
+            PreparedStatement ps = connection.prepareStatement(sql, new String[] {"user_id", "created_at", "updated_at"});
             ps.setString(1, user.getUsername());
             ps.setString(2, user.getEmail());
             ps.setString(3, user.getPasswordHash());
             ps.setString(4, user.getFirstName());
             ps.setString(5, user.getLastName());
-            ps.setString(6, user.getRole() != null ? user.getRole().name() : User.Role.USER.name());
+            ps.setString(6, role.name());
             return ps;
         }, keyHolder);
 
@@ -196,57 +254,65 @@ public class UserRepository {
             throw new RuntimeException("User insert failed for username: " + user.getUsername());
         }
 
-        // Extract user_id from the generated keys
-        Number key = null;
-        if (keyHolder.getKeys() != null && !keyHolder.getKeys().isEmpty()) {
-            Map<String, Object> keys = keyHolder.getKeys();
-            if (keys.containsKey("user_id")) {
-                key = (Number) keys.get("user_id");
-            } else if (keyHolder.getKeyList().size() > 0) {
-                Map<String, Object> firstKeyMap = keyHolder.getKeyList().get(0);
-                if (firstKeyMap.containsKey("user_id")) {
-                    key = (Number) firstKeyMap.get("user_id");
-                }
-            }
-        }
-        
-        if (key == null && keyHolder.getKey() != null) {
-            key = keyHolder.getKey();
-        }
-
-        if (key != null) {
-            user.setUserId(key.intValue());
-            log.info("Successfully inserted user with ID: {} and username: {}", user.getUserId(), user.getUsername());
-            return findById(user.getUserId())
-                    .orElseThrow(() -> new RuntimeException("Failed to fetch newly inserted user with ID: " + user.getUserId()));
-        } else {
+        Number key = GeneratedValues.key(keyHolder, "user_id");
+        if (key == null) {
             log.error("Failed to retrieve generated key for inserted user: {}", user.getUsername());
             throw new RuntimeException("Failed to retrieve generated key for user: " + user.getUsername());
         }
+
+        user.setUserId(key.intValue());
+        user.setRole(role);
+        user.setCreatedAt(GeneratedValues.timestamp(keyHolder, "created_at"));
+        user.setUpdatedAt(GeneratedValues.timestamp(keyHolder, "updated_at"));
+        if (user.getCreatedAt() == null || user.getUpdatedAt() == null) {
+            refreshTimestamps(user);
+        }
+        log.info("Successfully inserted user with ID: {} and username: {}", user.getUserId(), user.getUsername());
+        return user;
     }
 
     /**
      * update an existing user
+     * returns the input with the database-computed updated_at refreshed
      */
     private User updateUser(User user) {
         String sql = "UPDATE users SET username = ?, email = ?, password_hash = ?, first_name = ?, last_name = ?, role = ? WHERE user_id = ?";
+        User.Role role = user.getRole() != null ? user.getRole() : User.Role.USER;
         int rowsAffected = jdbcTemplate.update(sql,
             user.getUsername(),
             user.getEmail(),
             user.getPasswordHash(),
             user.getFirstName(),
             user.getLastName(),
-            user.getRole() != null ? user.getRole().name() : User.Role.USER.name(),
+            role.name(),
             user.getUserId());
+        userWritten(user.getUserId());
 
         if (rowsAffected == 0) {
             log.warn("Attempted to update user with ID {} but no rows were affected. User might not exist.", user.getUserId());
-        } else {
-            log.info("Successfully updated user with ID: {}", user.getUserId());
+            throw new RuntimeException("Failed to fetch user after update with ID: " + user.getUserId());
         }
+        log.info("Successfully updated user with ID: {}", user.getUserId());
 
-        return findById(user.getUserId())
-                .orElseThrow(() -> new RuntimeException("Failed to fetch user after update with ID: " + user.getUserId()));
+        user.setRole(role);
+        refreshTimestamps(user);
+        return user;
+    }
+
+    /**
+     * re-read only the database-maintained timestamp columns of a saved user
+     */
+    private void refreshTimestamps(User user) {
+        String sql = "SELECT created_at, updated_at FROM users WHERE user_id = ?";
+        try {
+            jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+                user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+                return user;
+            }, user.getUserId());
+        } catch (EmptyResultDataAccessException e) {
+            throw new RuntimeException("Failed to fetch user timestamps with ID: " + user.getUserId(), e);
+        }
     }
 
     /**
@@ -254,9 +320,12 @@ public class UserRepository {
      */
     public void deleteById(Integer userId) {
         String sql = "DELETE FROM users WHERE user_id = ?";
-        log.debug("Executing SQL: {} with userId: {}", sql, userId);
         try {
+            // the user's registrations go with them (on delete cascade), so their events' counts drop first
+            jdbcTemplate.update("UPDATE events SET registration_count = registration_count - 1, updated_at = updated_at WHERE event_id IN (SELECT event_id FROM registrations WHERE user_id = ?)", userId);
             int rowsAffected = jdbcTemplate.update(sql, userId);
+            // their events went with them too (on delete cascade)
+            userWritten(userId);
             if (rowsAffected == 0) {
                 log.warn("Attempted to delete user with ID {} but no rows were affected. User might not exist.", userId);
             } else {
@@ -268,5 +337,5 @@ public class UserRepository {
         }
     }
 
-    // note: more methods from jparepository like delete(user), count(), etc. need to be implemented if needed
+    // note: more methods like delete(user), count(), etc. need to be implemented if needed
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package edu.sjsu.cs157a.sjsu_event_manager.security.jwt;
 
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.ServerTiming;
 import edu.sjsu.cs157a.sjsu_event_manager.service.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -31,6 +32,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
         try {
             String jwt = parseJwtFromCookie(request);
             if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
@@ -48,6 +50,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
         }
+        ServerTiming.record(ServerTiming.Phase.AUTH, System.nanoTime() - start);
 
         filterChain.doFilter(request, response);
     }
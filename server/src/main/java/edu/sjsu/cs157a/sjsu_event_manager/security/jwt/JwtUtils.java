@@ -1,5 +1,7 @@
 package edu.sjsu.cs157a.sjsu_event_manager.security.jwt;
 
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.JwtVerificationEvent;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.ServerTiming;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -47,19 +49,31 @@ public class JwtUtils {
     }
 
     public boolean validateJwtToken(String authToken) {
+        long start = System.nanoTime();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
         try {
             Jwts.parser().verifyWith(key()).build().parseSignedClaims(authToken);
+            event.setOutcome("valid");
             return true;
         } catch (MalformedJwtException e) {
+            event.setOutcome("malformed");
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            event.setOutcome("expired");
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
+            event.setOutcome("unsupported");
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
+            event.setOutcome("empty");
             logger.error("JWT claims string is empty: {}", e.getMessage());
         } catch (SecurityException e) {
+            event.setOutcome("invalid_signature");
             logger.error("Invalid JWT signature: {}", e.getMessage());
+        } finally {
+            event.commit();
+            ServerTiming.record(ServerTiming.Phase.JWT, System.nanoTime() - start);
         }
 
         return false;
@@ -1,48 +1,232 @@
 package edu.sjsu.cs157a.sjsu_event_manager.service;
 
+import edu.sjsu.cs157a.sjsu_event_manager.cache.CatalogCache;
+import edu.sjsu.cs157a.sjsu_event_manager.cache.DatabaseCircuitBreaker;
+import edu.sjsu.cs157a.sjsu_event_manager.cache.SingleFlight;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.CategorySummaryDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventDetailDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventPatchDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.dto.EventRequestDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.dto.EventResponseDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventRosterSummaryDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.HotKeyDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.exception.ResourceNotFoundException;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.EventVersion;
 import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.HeavyHitters;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.RegistrationEvent;
 import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
 import edu.sjsu.cs157a.sjsu_event_manager.repository.RegistrationRepository;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
 import edu.sjsu.cs157a.sjsu_event_manager.exception.ConflictException;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.PreconditionFailedException;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.security.access.AccessDeniedException;
 import edu.sjsu.cs157a.sjsu_event_manager.dto.RegistrationResponseDTO;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class EventService {
 
+    private static final Logger log = LoggerFactory.getLogger(EventService.class);
+
+    // registrations listed in the organizer's roster summary on the event page
+    private static final int ROSTER_SUMMARY_SIZE = 5;
+
     private final EventRepository eventRepository;
     private final RegistrationRepository registrationRepository;
+    private final CatalogCache catalogCache;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final SingleFlight singleFlight;
+    private final HeavyHitters heavyHitters;
+    private final Counter registrationsSucceeded;
+    private final Counter registrationsRejectedFull;
+    private final Counter registrationsDuplicate;
+
+    @Value("${sjsu.app.categorySummaryTtlMs:60000}")
+    private long categorySummaryTtlMs;
+
+    @Value("${sjsu.app.hotKeys.prewarmTopN:20}")
+    private int prewarmTopN;
+
+    // precomputed per-category upcoming counts, rebuilt at most once per ttl or after an event write
+    private volatile List<CategorySummaryDTO> categorySummaries;
+    private volatile long categorySummariesComputedAt;
+    // bumped by every invalidation; sums computed across a bump are not published. guarded by categorySummariesLock
+    private long categorySummariesGeneration;
+    private final Object categorySummariesLock = new Object();
 
     @Autowired
-    public EventService(EventRepository eventRepository, RegistrationRepository registrationRepository) {
+    public EventService(EventRepository eventRepository, RegistrationRepository registrationRepository,
+                        CatalogCache catalogCache, DatabaseCircuitBreaker circuitBreaker, SingleFlight singleFlight,
+                        HeavyHitters heavyHitters, MeterRegistry meterRegistry) {
         this.eventRepository = eventRepository;
         this.registrationRepository = registrationRepository;
+        this.catalogCache = catalogCache;
+        this.circuitBreaker = circuitBreaker;
+        this.singleFlight = singleFlight;
+        this.heavyHitters = heavyHitters;
+        this.registrationsSucceeded = registrations(meterRegistry, "succeeded");
+        this.registrationsRejectedFull = registrations(meterRegistry, "rejected_full");
+        this.registrationsDuplicate = registrations(meterRegistry, "duplicate");
     }
 
-    @Transactional(readOnly = true)
+    private static Counter registrations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("event.registrations")
+                .description("Registration attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // the catalog reads are served through the stale-while-revalidate cache, so they may lag
+    // writes made on other instances by a few seconds; local writes invalidate it
+
     public List<EventResponseDTO> getAllEvents() {
-        List<Event> events = eventRepository.findAll();
-        return events.stream()
-                     .map(this::mapToResponseDTO)
-                     .collect(Collectors.toList());
+        return catalogCache.getAllEvents(() -> mapToResponseDTOs(eventRepository.findAll()));
     }
 
-    @Transactional(readOnly = true)
+    // cache misses for the same list or event share one in-flight load (see StaleWhileRevalidateCache)
+
     public EventResponseDTO findEventById(Integer eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-        return mapToResponseDTO(event);
+        return catalogCache.getEvent(eventId, () -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+            return mapToResponseDTO(event);
+        });
+    }
+
+    /**
+     * the events with the given ids in request order, skipping repeated and unknown ids
+     * a fixed number of batched queries however many ids are asked for: the events, their organizers
+     * and their registration counts (each an IN query per chunk of ids)
+     */
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> findEventsByIds(List<Integer> eventIds) {
+        return circuitBreaker.call(() -> {
+            Map<Integer, Event> found = eventRepository.findAllByIds(eventIds);
+            List<Event> events = eventIds.stream()
+                    .distinct()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return mapToResponseDTOs(events);
+        });
+    }
+
+    /**
+     * keep the detail of the currently hottest events in the catalog cache, so their entries are
+     * refreshed before they expire instead of by the next burst of requests
+     */
+    @Scheduled(fixedDelayString = "${sjsu.app.hotKeys.prewarmIntervalMs:5000}")
+    public void prewarmHotEvents() {
+        if (prewarmTopN <= 0) {
+            return;
+        }
+        for (HotKeyDTO hotEvent : heavyHitters.top(HeavyHitters.Dimension.EVENT, prewarmTopN)) {
+            try {
+                findEventById(Integer.valueOf(hotEvent.getKey()));
+            } catch (RuntimeException e) {
+                log.debug("Could not pre-warm event {}: {}", hotEvent.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    public List<EventResponseDTO> getEventsByCategory(String category) {
+        return catalogCache.getEventsByCategory(category, () -> mapToResponseDTOs(eventRepository.findByCategoryIgnoreCase(category)));
+    }
+
+    public List<CategorySummaryDTO> getCategorySummaries() {
+        List<CategorySummaryDTO> summaries = categorySummaries;
+        if (summaries == null || System.currentTimeMillis() - categorySummariesComputedAt > categorySummaryTtlMs) {
+            long generation;
+            synchronized (categorySummariesLock) {
+                generation = categorySummariesGeneration;
+            }
+            summaries = List.copyOf(eventRepository.countUpcomingByCategory(LocalDateTime.now()));
+            synchronized (categorySummariesLock) {
+                // an event write since the query started may not be in these sums
+                if (generation == categorySummariesGeneration) {
+                    categorySummaries = summaries;
+                    categorySummariesComputedAt = System.currentTimeMillis();
+                }
+            }
+        }
+        return summaries;
+    }
+
+    // an event was created, changed or deleted
+    private void invalidateCatalog(Integer eventId) {
+        invalidateNowAndAfterCommit(() -> {
+            synchronized (categorySummariesLock) {
+                categorySummariesGeneration++;
+                categorySummaries = null;
+            }
+            catalogCache.invalidateEvent(eventId);
+        });
+    }
+
+    // a registration changed an event's count
+    private void invalidateCatalogEntries(Integer eventId) {
+        invalidateNowAndAfterCommit(() -> catalogCache.invalidateEvent(eventId));
+    }
+
+    // again after commit, so a read that raced the transaction cannot keep the old rows cached
+    private static void invalidateNowAndAfterCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    // cheap version probes used to answer conditional GETs without the full queries
+    // they are empty when the database is unavailable, so the caller falls back to the cached catalog
+
+    public Optional<List<EventVersion>> getEventVersions() {
+        return probe(eventRepository::findVersions);
+    }
+
+    public Optional<List<EventVersion>> getEventVersionsByCategory(String category) {
+        return probe(() -> eventRepository.findVersionsByCategoryIgnoreCase(category));
+    }
+
+    public Optional<EventVersion> getEventVersion(Integer eventId) {
+        return probe(() -> eventRepository.findVersionById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId)));
+    }
+
+    private <T> Optional<T> probe(Supplier<T> query) {
+        try {
+            return Optional.of(circuitBreaker.call(query));
+        } catch (DataAccessException | ServiceUnavailableException e) {
+            return Optional.empty();
+        }
     }
 
     @Transactional
@@ -62,13 +246,26 @@ public class EventService {
         event.setMaxAttendees(eventRequestDTO.getMaxAttendees());
 
         Event savedEvent = eventRepository.save(event);
+        invalidateCatalog(savedEvent.getEventId());
         return mapToResponseDTO(savedEvent);
     }
 
     private EventResponseDTO mapToResponseDTO(Event event) {
+        return mapToResponseDTO(event, registrationRepository.countByEventId(event.getEventId()));
+    }
+
+    // lists count their registrations in one grouped query instead of one per event
+    private List<EventResponseDTO> mapToResponseDTOs(List<Event> events) {
+        Map<Integer, Long> registrationCounts = registrationRepository.countByEventIds(
+                events.stream().map(Event::getEventId).toList());
+        return events.stream()
+                .map(event -> mapToResponseDTO(event, registrationCounts.getOrDefault(event.getEventId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private EventResponseDTO mapToResponseDTO(Event event, long registrationCount) {
         Integer organizerId = (event.getOrganizer() != null) ? event.getOrganizer().getUserId() : null;
         String organizerUsername = (event.getOrganizer() != null) ? event.getOrganizer().getUsername() : "Unknown";
-        long registrationCount = registrationRepository.countByEventId(event.getEventId());
 
         return new EventResponseDTO(
             event.getEventId(),
@@ -83,33 +280,107 @@ public class EventService {
             event.getCreatedAt(),
             event.getUpdatedAt(),
             registrationCount,
-            event.getMaxAttendees()
+            event.getMaxAttendees(),
+            event.getVersion()
         );
     }
 
+    /**
+     * replace an event's fields; when expectedVersion is not null the update only applies
+     * if the stored version still matches (If-Match), otherwise PreconditionFailedException
+     */
     @Transactional
-    public EventResponseDTO updateEvent(Integer eventId, EventRequestDTO eventRequestDTO, User currentUser) {
-        Event event = eventRepository.findById(eventId)
+    public EventResponseDTO updateEvent(Integer eventId, EventRequestDTO eventRequestDTO, User currentUser, Integer expectedVersion) {
+        // not the near-cached copy: the version check and the diff below must see the stored row
+        Event event = eventRepository.findCurrentById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         if (!event.getOrganizer().getUserId().equals(currentUser.getUserId())) {
             throw new AccessDeniedException("User is not authorized to update this event");
         }
 
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new PreconditionFailedException("Event has been modified since version " + expectedVersion);
+        }
+
         if (eventRequestDTO.getEndTime().isBefore(eventRequestDTO.getStartTime())) {
             throw new IllegalArgumentException("End time cannot be before start time");
         }
 
-        event.setTitle(eventRequestDTO.getTitle());
-        event.setDescription(eventRequestDTO.getDescription());
-        event.setLocation(eventRequestDTO.getLocation());
-        event.setStartTime(eventRequestDTO.getStartTime());
-        event.setEndTime(eventRequestDTO.getEndTime());
-        event.setCategory(eventRequestDTO.getCategory());
-        event.setMaxAttendees(eventRequestDTO.getMaxAttendees());
+        // only write the columns that actually differ from the stored event
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfChanged(changes, "title", event.getTitle(), eventRequestDTO.getTitle());
+        putIfChanged(changes, "description", event.getDescription(), eventRequestDTO.getDescription());
+        putIfChanged(changes, "location", event.getLocation(), eventRequestDTO.getLocation());
+        putIfChanged(changes, "start_time", event.getStartTime(), eventRequestDTO.getStartTime());
+        putIfChanged(changes, "end_time", event.getEndTime(), eventRequestDTO.getEndTime());
+        putIfChanged(changes, "category", event.getCategory(), eventRequestDTO.getCategory());
+        putIfChanged(changes, "max_attendees", event.getMaxAttendees(), eventRequestDTO.getMaxAttendees());
+
+        if (!changes.isEmpty()) {
+            if (eventRepository.updateColumns(eventId, changes, currentUser.getUserId(), expectedVersion) == 0) {
+                throw explainRejectedUpdate(eventId, currentUser, expectedVersion);
+            }
+            event.setTitle(eventRequestDTO.getTitle());
+            event.setDescription(eventRequestDTO.getDescription());
+            event.setLocation(eventRequestDTO.getLocation());
+            event.setStartTime(eventRequestDTO.getStartTime());
+            event.setEndTime(eventRequestDTO.getEndTime());
+            event.setCategory(eventRequestDTO.getCategory());
+            event.setMaxAttendees(eventRequestDTO.getMaxAttendees());
+            eventRepository.refreshGeneratedColumns(event);
+            invalidateCatalog(eventId);
+        }
+        return mapToResponseDTO(event);
+    }
 
-        Event updatedEvent = eventRepository.save(event);
-        return mapToResponseDTO(updatedEvent);
+    /**
+     * apply a sparse update in one statement; ownership, time ordering and the optional
+     * If-Match version are enforced by the update itself
+     * returns the new version when expectedVersion was given (it is then exactly expectedVersion + 1), else null
+     */
+    @Transactional
+    public Integer patchEvent(Integer eventId, EventPatchDTO patch, User currentUser, Integer expectedVersion) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getTitle() != null) changes.put("title", patch.getTitle());
+        if (patch.getDescription() != null) changes.put("description", patch.getDescription());
+        if (patch.getLocation() != null) changes.put("location", patch.getLocation());
+        if (patch.getStartTime() != null) changes.put("start_time", patch.getStartTime());
+        if (patch.getEndTime() != null) changes.put("end_time", patch.getEndTime());
+        if (patch.getCategory() != null) changes.put("category", patch.getCategory());
+        if (patch.getMaxAttendees() != null) changes.put("max_attendees", patch.getMaxAttendees());
+
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        if (patch.getStartTime() != null && patch.getEndTime() != null && patch.getEndTime().isBefore(patch.getStartTime())) {
+            throw new IllegalArgumentException("End time cannot be before start time");
+        }
+
+        if (eventRepository.updateColumns(eventId, changes, currentUser.getUserId(), expectedVersion) == 0) {
+            throw explainRejectedUpdate(eventId, currentUser, expectedVersion);
+        }
+        invalidateCatalog(eventId);
+        return expectedVersion != null ? expectedVersion + 1 : null;
+    }
+
+    // a conditional update matched no row: work out why (only runs on the failure path)
+    private RuntimeException explainRejectedUpdate(Integer eventId, User currentUser, Integer expectedVersion) {
+        Event event = eventRepository.findCurrentById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (!event.getOrganizer().getUserId().equals(currentUser.getUserId())) {
+            return new AccessDeniedException("User is not authorized to update this event");
+        }
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            return new PreconditionFailedException("Event has been modified since version " + expectedVersion);
+        }
+        return new IllegalArgumentException("End time cannot be before start time");
+    }
+
+    private static void putIfChanged(Map<String, Object> changes, String column, Object current, Object updated) {
+        if (!Objects.equals(current, updated)) {
+            changes.put(column, updated);
+        }
     }
 
     @Transactional
@@ -122,40 +393,64 @@ public class EventService {
         }
 
         eventRepository.deleteById(eventId);
+        invalidateCatalog(eventId);
     }
 
     @Transactional
     public Registration registerForEvent(Integer eventId, User participant) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        if (event.getOrganizer().getUserId().equals(participant.getUserId())) {
-            throw new ConflictException("Organizer cannot register for their own event.");
-        }
-
-        boolean alreadyRegistered = registrationRepository.existsByUserAndEvent(participant.getUserId(), event.getEventId());
-        if (alreadyRegistered) {
-            throw new ConflictException("User is already registered for this event.");
-        }
-
-        long currentRegistrations = registrationRepository.countByEventId(event.getEventId());
-        if (event.getMaxAttendees() != null && currentRegistrations >= event.getMaxAttendees()) {
-            throw new ConflictException("Event is full.");
+        RegistrationEvent recorded = new RegistrationEvent();
+        recorded.begin();
+        recorded.setEventId(eventId);
+        recorded.setUserId(participant.getUserId());
+        try {
+            // concurrent registrations for the event wait here, so the count below cannot go stale before the insert
+            Event event = eventRepository.lockById(eventId).orElse(null);
+            if (event == null) {
+                recorded.setOutcome("not_found");
+                throw new ResourceNotFoundException("Event", "id", eventId);
+            }
+
+            if (event.getOrganizer().getUserId().equals(participant.getUserId())) {
+                recorded.setOutcome("own_event");
+                throw new ConflictException("Organizer cannot register for their own event.");
+            }
+
+            boolean alreadyRegistered = registrationRepository.existsByUserAndEvent(participant.getUserId(), event.getEventId());
+            if (alreadyRegistered) {
+                recorded.setOutcome("already_registered");
+                registrationsDuplicate.increment();
+                throw new ConflictException("User is already registered for this event.");
+            }
+
+            long currentRegistrations = registrationRepository.countByEventId(event.getEventId());
+            if (event.getMaxAttendees() != null && currentRegistrations >= event.getMaxAttendees()) {
+                recorded.setOutcome("full");
+                registrationsRejectedFull.increment();
+                throw new ConflictException("Event is full.");
+            }
+
+            Registration registration = new Registration(participant, event);
+            Registration saved = registrationRepository.save(registration);
+            // registration counts are part of the cached catalog
+            invalidateCatalogEntries(eventId);
+            recorded.setOutcome("registered");
+            registrationsSucceeded.increment();
+            return saved;
+        } finally {
+            recorded.commit();
         }
-
-        Registration registration = new Registration(participant, event);
-        return registrationRepository.save(registration);
     }
 
     @Transactional
     public void deregisterFromEvent(Integer eventId, User participant) {
-         Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.lockById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         Registration registration = registrationRepository.findByUserAndEvent(participant.getUserId(), event.getEventId())
                 .orElseThrow(() -> new ResourceNotFoundException("Registration", "user/event", participant.getUserId() + "/" + eventId)); // Or a more specific "NotRegisteredException"
 
         registrationRepository.deleteById(registration.getRegistrationId());
+        invalidateCatalogEntries(eventId);
     }
 
     @Transactional
@@ -184,21 +479,66 @@ public class EventService {
 
     @Transactional(readOnly = true)
     public boolean isUserRegistered(Integer eventId, Integer userId) {
-        if (!eventRepository.existsById(eventId)) {
-            throw new ResourceNotFoundException("Event", "id", eventId);
+        return singleFlight.execute("registrationStatus", List.of(eventId, userId), () -> {
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException("Event", "id", eventId);
+            }
+
+            return registrationRepository.existsByEventIdAndUserId(eventId, userId);
+        });
+    }
+
+    /**
+     * the event page in one call: the catalog entry, seats left, and for a signed-in caller whether they are
+     * registered, plus a roster summary when the caller organizes the event
+     * the event and its count come from the catalog cache (so seats left can lag it by its freshness);
+     * the caller's status and the roster are read from the database
+     */
+    @Transactional(readOnly = true)
+    public EventDetailDTO getEventDetail(Integer eventId, User currentUser) {
+        EventResponseDTO event = findEventById(eventId);
+        Long seatsRemaining = event.getMaxAttendees() != null
+                ? Math.max(0, event.getMaxAttendees() - event.getRegistrationCount())
+                : null;
+        if (currentUser == null) {
+            return new EventDetailDTO(event, seatsRemaining, null, null);
         }
-        
-        return registrationRepository.existsByEventIdAndUserId(eventId, userId);
+
+        boolean registered = registrationRepository.existsByEventIdAndUserId(eventId, currentUser.getUserId());
+        EventRosterSummaryDTO roster = null;
+        if (currentUser.getUserId().equals(event.getOrganizerId())) {
+            List<RegistrationResponseDTO> latest = registrationRepository.findLatestByEventId(eventId, ROSTER_SUMMARY_SIZE).stream()
+                    .map(registration -> new RegistrationResponseDTO(registration, true))
+                    .toList();
+            roster = new EventRosterSummaryDTO(registrationRepository.countByEventId(eventId), latest);
+        }
+        return new EventDetailDTO(event, seatsRemaining, registered, roster);
+    }
+
+    /**
+     * whether the user is registered for each of the given events, keyed by event id in request order
+     * answered from the set of events the user is registered for (one query), so unknown events are
+     * reported as not registered instead of failing the whole batch
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, Boolean> getRegistrationStatuses(List<Integer> eventIds, Integer userId) {
+        Set<Integer> registeredEventIds = registrationRepository.findEventIdsByUserId(userId);
+        Map<Integer, Boolean> statuses = new LinkedHashMap<>();
+        for (Integer eventId : eventIds) {
+            statuses.put(eventId, registeredEventIds.contains(eventId));
+        }
+        return statuses;
     }
 
     @Transactional
     public EventResponseDTO updateEventTitle(Integer eventId, String newTitle) {
+        if (eventRepository.updateColumns(eventId, Map.of("title", newTitle), null, null) == 0) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+        invalidateCatalog(eventId);
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-        
-        event.setTitle(newTitle);
-        Event updatedEvent = eventRepository.save(event);
-        return mapToResponseDTO(updatedEvent);
+        return mapToResponseDTO(event);
     }
 
     // --- TODO: Add methods for Update, Delete, Register, Deregister, GetRegistrations --- 
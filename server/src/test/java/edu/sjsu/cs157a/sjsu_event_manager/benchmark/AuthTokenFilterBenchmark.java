@@ -0,0 +1,77 @@
+package edu.sjsu.cs157a.sjsu_event_manager.benchmark;
+
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.AuthTokenFilter;
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
+import edu.sjsu.cs157a.sjsu_event_manager.service.UserDetailsServiceImpl;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthTokenFilter end to end: cookie parsing, JWT verification, loading the user from H2 and
+ * populating the security context
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    // users in the table the lookup searches
+    @Param({"100", "10000"})
+    public int users;
+
+    private BenchmarkDatabase database;
+    private AuthTokenFilter filter;
+    private Cookie cookie;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        database = new BenchmarkDatabase(0, users);
+        JwtUtils jwtUtils = JwtBenchmark.jwtUtils();
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", database.userRepository);
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        cookie = new Cookie("jwt-token", jwtUtils.generateTokenFromUsername(database.participants.get(users / 2).getUsername()));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setCookies(cookie);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
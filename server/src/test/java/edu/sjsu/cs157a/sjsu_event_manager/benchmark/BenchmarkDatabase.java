@@ -0,0 +1,80 @@
+package edu.sjsu.cs157a.sjsu_event_manager.benchmark;
+
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.RegistrationRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * an embedded H2 database with the test schema, seeded with a given number of events
+ * each event has its own organizer and one registration per participant, of whom there are
+ * participantsPerEvent in total, so result sizes and organizer lookups both scale with the event count
+ * the repositories are wired by hand, with the event near-cache off so every read maps rows
+ */
+final class BenchmarkDatabase {
+
+    final EmbeddedDatabase dataSource;
+    final UserRepository userRepository;
+    final EventRepository eventRepository;
+    final RegistrationRepository registrationRepository;
+    final List<Event> events = new ArrayList<>();
+    final List<User> participants = new ArrayList<>();
+
+    BenchmarkDatabase(int eventCount, int participantsPerEvent) {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        userRepository = new UserRepository(dataSource);
+        eventRepository = new EventRepository(dataSource, userRepository, false, 0, 0, new SimpleMeterRegistry());
+        registrationRepository = new RegistrationRepository(dataSource, userRepository, eventRepository);
+
+        for (int i = 0; i < participantsPerEvent; i++) {
+            participants.add(userRepository.save(user("participant" + i, User.Role.USER)));
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < eventCount; i++) {
+            Event event = new Event();
+            event.setTitle("Benchmark event " + i);
+            event.setDescription("A representative description of benchmark event " + i + ", long enough to matter when serialized.");
+            event.setLocation("Engineering Building, room " + (100 + i % 300));
+            event.setStartTime(start.plusHours(i));
+            event.setEndTime(start.plusHours(i + 2));
+            event.setCategory("Category " + (i % 8));
+            event.setOrganizer(userRepository.save(user("organizer" + i, User.Role.ORGANIZER)));
+            event.setMaxAttendees(participantsPerEvent + 50);
+            Event saved = eventRepository.save(event);
+            events.add(saved);
+            jdbcTemplate.batchUpdate("INSERT INTO registrations (user_id, event_id) VALUES (?, ?)",
+                    participants.stream().map(participant -> new Object[] {participant.getUserId(), saved.getEventId()}).toList());
+            jdbcTemplate.update("UPDATE events SET registration_count = ?, updated_at = updated_at WHERE event_id = ?", participants.size(), saved.getEventId());
+        }
+    }
+
+    private static User user(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@sjsu.edu");
+        user.setPasswordHash("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2nUjQk1yR0FzXQ6p2XGfS2a");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setRole(role);
+        return user;
+    }
+
+    void shutdown() {
+        dataSource.shutdown();
+    }
+}
@@ -0,0 +1,76 @@
+package edu.sjsu.cs157a.sjsu_event_manager.benchmark;
+
+import edu.sjsu.cs157a.sjsu_event_manager.cache.CatalogCache;
+import edu.sjsu.cs157a.sjsu_event_manager.cache.DatabaseCircuitBreaker;
+import edu.sjsu.cs157a.sjsu_event_manager.cache.SingleFlight;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventResponseDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.HeavyHitters;
+import edu.sjsu.cs157a.sjsu_event_manager.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventService's catalog reads with the catalog cache disabled (fresh and stale windows of zero),
+ * so every call loads the rows and maps them to EventResponseDTOs (mapToResponseDTO and its
+ * batched registration counts)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int events;
+
+    private BenchmarkDatabase database;
+    private EventService eventService;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        database = new BenchmarkDatabase(events, 10);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DatabaseCircuitBreaker circuitBreaker = new DatabaseCircuitBreaker(20, 10, 50, 1000, 5000, meterRegistry);
+        eventService = new EventService(database.eventRepository, database.registrationRepository,
+                new CatalogCache(0, 0, 0, 1000, circuitBreaker, meterRegistry), circuitBreaker,
+                new SingleFlight(meterRegistry), new HeavyHitters(60_000, 6, 100), meterRegistry);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> getAllEvents() {
+        return eventService.getAllEvents();
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> getEventsByCategory() {
+        return eventService.getEventsByCategory("category 3");
+    }
+
+    @Benchmark
+    public EventResponseDTO findEventById() {
+        return eventService.findEventById(database.events.get(0).getEventId());
+    }
+}
@@ -0,0 +1,62 @@
+package edu.sjsu.cs157a.sjsu_event_manager.benchmark;
+
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils: issuing a token at login, and verifying and reading one on every authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    // base64 of a 384-bit key, the same shape as the configured secret
+    static final String SECRET = "c2pzdS1ldmVudC1tYW5hZ2VyLWJlbmNobWFyay1zZWNyZXQta2V5LTQ4LWJ5dGVzIQ==";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        return jwtUtils;
+    }
+
+    @Setup
+    public void setUp() {
+        jwtUtils = jwtUtils();
+        token = jwtUtils.generateTokenFromUsername("participant0");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateTokenFromUsername("participant0");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String validateAndReadUsername() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+}
@@ -0,0 +1,63 @@
+package edu.sjsu.cs157a.sjsu_event_manager.benchmark;
+
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the repositories' row mappers, including the batched organizer, user and event lookups behind them
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int events;
+
+    private BenchmarkDatabase database;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        database = new BenchmarkDatabase(events, 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<Event> findAllEvents() {
+        return database.eventRepository.findAll();
+    }
+
+    @Benchmark
+    public Optional<Event> findEventById() {
+        return database.eventRepository.findById(database.events.get(0).getEventId());
+    }
+
+    @Benchmark
+    public List<Registration> findRegistrationsByUser() {
+        return database.registrationRepository.findByUserId(database.participants.get(0).getUserId());
+    }
+}
@@ -0,0 +1,62 @@
+package edu.sjsu.cs157a.sjsu_event_manager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.EventResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the event list response, with an ObjectMapper built the way Spring MVC builds its own
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int events;
+
+    private ObjectWriter listWriter;
+    private List<EventResponseDTO> eventList;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(TypeFactory.defaultInstance().constructCollectionType(List.class, EventResponseDTO.class));
+        LocalDateTime start = LocalDateTime.of(2026, 9, 1, 18, 0);
+        eventList = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            eventList.add(new EventResponseDTO(i + 1, "Benchmark event " + i,
+                    "A representative description of benchmark event " + i + ", long enough to matter when serialized.",
+                    "Engineering Building, room " + (100 + i % 300), start.plusHours(i), start.plusHours(i + 2),
+                    "Category " + (i % 8), 1000 + i, "organizer" + i, start.minusDays(30), start.minusDays(1),
+                    i % 40, 50, i % 3));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEventList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(eventList);
+    }
+}
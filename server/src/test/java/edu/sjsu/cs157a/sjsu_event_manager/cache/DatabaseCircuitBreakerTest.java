@@ -0,0 +1,95 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatabaseCircuitBreakerTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        callers.shutdownNow();
+    }
+
+    private static String fail() {
+        throw new DataAccessResourceFailureException("database down");
+    }
+
+    private static String blockUntil(CountDownLatch started, CountDownLatch release, boolean failed) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return failed ? fail() : "ok";
+    }
+
+    private static void open(DatabaseCircuitBreaker circuitBreaker) {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(DataAccessException.class, () -> circuitBreaker.call(DatabaseCircuitBreakerTest::fail));
+        }
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testOnlyTheTrialCallClosesTheCircuit() throws Exception {
+        DatabaseCircuitBreaker circuitBreaker = new DatabaseCircuitBreaker(2, 2, 50, 60_000, 50, new SimpleMeterRegistry());
+        CountDownLatch earlyStarted = new CountDownLatch(1);
+        CountDownLatch releaseEarly = new CountDownLatch(1);
+        Future<String> early = callers.submit(() -> circuitBreaker.call(() -> blockUntil(earlyStarted, releaseEarly, false)));
+        assertTrue(earlyStarted.await(5, TimeUnit.SECONDS));
+        open(circuitBreaker);
+
+        Thread.sleep(100);
+        CountDownLatch trialStarted = new CountDownLatch(1);
+        CountDownLatch releaseTrial = new CountDownLatch(1);
+        Future<String> trial = callers.submit(() -> circuitBreaker.call(() -> blockUntil(trialStarted, releaseTrial, false)));
+        assertTrue(trialStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(DatabaseCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertThrows(ServiceUnavailableException.class, () -> circuitBreaker.call(() -> "ok"));
+
+        // admitted before the circuit opened, so its success says nothing about the database now
+        releaseEarly.countDown();
+        assertEquals("ok", early.get(5, TimeUnit.SECONDS));
+        assertEquals(DatabaseCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        releaseTrial.countDown();
+        assertEquals("ok", trial.get(5, TimeUnit.SECONDS));
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testLateFailureDoesNotReopenTheCircuit() throws Exception {
+        DatabaseCircuitBreaker circuitBreaker = new DatabaseCircuitBreaker(2, 2, 50, 60_000, 50, new SimpleMeterRegistry());
+        CountDownLatch earlyStarted = new CountDownLatch(1);
+        CountDownLatch releaseEarly = new CountDownLatch(1);
+        Future<String> early = callers.submit(() -> circuitBreaker.call(() -> blockUntil(earlyStarted, releaseEarly, true)));
+        assertTrue(earlyStarted.await(5, TimeUnit.SECONDS));
+        open(circuitBreaker);
+
+        Thread.sleep(100);
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        // one failure would reach the threshold if it counted in the new window
+        releaseEarly.countDown();
+        Exception failure = assertThrows(Exception.class, () -> early.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DataAccessException.class, failure.getCause());
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,79 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    private double calls(String result) {
+        return meterRegistry.get("singleflight.calls").tag("flight", "test").tag("result", result).counter().count();
+    }
+
+    @Test
+    public void testConcurrentIdenticalCallsShareOneExecution() throws Exception {
+        int callers = 8;
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> singleFlight.execute("test", 1, () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                try {
+                    releaseLeader.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "row";
+            })));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("test", 1, () -> {
+                    executions.incrementAndGet();
+                    return "other";
+                })));
+            }
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (calls("coalesced") < callers - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            releaseLeader.countDown();
+            for (Future<String> result : results) {
+                assertEquals("row", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, calls("executed"));
+        assertEquals(callers - 1, calls("coalesced"));
+    }
+
+    @Test
+    public void testNothingIsRememberedAfterTheCall() {
+        assertEquals("first", singleFlight.execute("test", 1, () -> "first"));
+        assertEquals("second", singleFlight.execute("test", 1, () -> "second"));
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("test", 2, () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals("third", singleFlight.execute("test", 2, () -> "third"));
+    }
+}
@@ -0,0 +1,203 @@
+package edu.sjsu.cs157a.sjsu_event_manager.cache;
+
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaleWhileRevalidateCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService refreshExecutor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private DatabaseCircuitBreaker circuitBreaker(int windowSize) {
+        return new DatabaseCircuitBreaker(windowSize, windowSize, 50, 60_000, 60_000, meterRegistry);
+    }
+
+    private StaleWhileRevalidateCache<String, String> cache(long freshMs, long staleWhileRevalidateMs, long staleIfErrorMs,
+                                                            DatabaseCircuitBreaker circuitBreaker) {
+        return new StaleWhileRevalidateCache<>("test", freshMs, staleWhileRevalidateMs, staleIfErrorMs, 100,
+                circuitBreaker, refreshExecutor, meterRegistry);
+    }
+
+    private double served(String result) {
+        return meterRegistry.get("catalog.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    public void testServesStaleWhileOneRefresherReloads() throws Exception {
+        StaleWhileRevalidateCache<String, String> cache = cache(0, 60_000, 0, circuitBreaker(20));
+        assertEquals("v1", cache.get("key", () -> "v1"));
+
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("v1", cache.get("key", () -> {
+                refreshes.incrementAndGet();
+                refreshStarted.countDown();
+                try {
+                    releaseRefresh.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "v2";
+            }));
+        }
+        assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(10, served("stale"));
+        releaseRefresh.countDown();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!"v2".equals(cache.get("key", () -> "v2")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    public void testServesStaleWhenDatabaseFails() {
+        StaleWhileRevalidateCache<String, String> cache = cache(0, 0, 60_000, circuitBreaker(20));
+        assertEquals("v1", cache.get("key", () -> "v1"));
+        assertEquals("v1", cache.get("key", () -> {
+            throw new DataAccessResourceFailureException("database down");
+        }));
+        assertEquals(1, served("stale_on_error"));
+
+        // nothing to fall back on for a key that was never loaded
+        assertThrows(DataAccessException.class, () -> cache.get("other", () -> {
+            throw new DataAccessResourceFailureException("database down");
+        }));
+    }
+
+    @Test
+    public void testOpenCircuitSkipsTheDatabase() {
+        DatabaseCircuitBreaker circuitBreaker = circuitBreaker(2);
+        StaleWhileRevalidateCache<String, String> cache = cache(0, 0, 60_000, circuitBreaker);
+        assertEquals("v1", cache.get("key", () -> "v1"));
+        // one failure in a window of two calls reaches the 50% threshold
+        assertThrows(DataAccessException.class, () -> cache.get("other", () -> {
+            throw new DataAccessResourceFailureException("database down");
+        }));
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("v1", cache.get("key", () -> "v" + loads.incrementAndGet()));
+        assertThrows(ServiceUnavailableException.class, () -> cache.get("other", () -> "v" + loads.incrementAndGet()));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void testInvalidateAllReloadsEntries() {
+        StaleWhileRevalidateCache<String, String> cache = cache(60_000, 0, 0, circuitBreaker(20));
+        assertEquals("v1", cache.get("key", () -> "v1"));
+        assertEquals("v1", cache.get("key", () -> "v2"));
+        cache.invalidateAll();
+        assertEquals("v2", cache.get("key", () -> "v2"));
+    }
+
+    @Test
+    public void testInvalidatedEntryIsStillServedWhenDatabaseFails() {
+        StaleWhileRevalidateCache<String, String> cache = cache(60_000, 0, 60_000, circuitBreaker(20));
+        assertEquals("v1", cache.get("key", () -> "v1"));
+        cache.invalidateAll();
+        assertEquals("v1", cache.get("key", () -> {
+            throw new DataAccessResourceFailureException("database down");
+        }));
+        cache.invalidate("key");
+        assertEquals("v1", cache.get("key", () -> {
+            throw new DataAccessResourceFailureException("database down");
+        }));
+        assertEquals(2, served("stale_on_error"));
+    }
+
+    @Test
+    public void testInvalidateOnlyReloadsThatKey() {
+        StaleWhileRevalidateCache<String, String> cache = cache(60_000, 0, 0, circuitBreaker(20));
+        assertEquals("a1", cache.get("a", () -> "a1"));
+        assertEquals("b1", cache.get("b", () -> "b1"));
+        cache.invalidate("a");
+        assertEquals("a2", cache.get("a", () -> "a2"));
+        assertEquals("b1", cache.get("b", () -> "b2"));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        StaleWhileRevalidateCache<String, String> cache = cache(60_000, 0, 0, circuitBreaker(20));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    loadStarted.countDown();
+                    try {
+                        releaseLoad.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "v1";
+                })));
+            }
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (served("coalesced") < 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            releaseLoad.countDown();
+            for (Future<String> result : results) {
+                assertEquals("v1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(7, served("coalesced"));
+    }
+
+    @Test
+    public void testLoadStartedBeforeAnInvalidationIsNotJoined() throws Exception {
+        StaleWhileRevalidateCache<String, String> cache = cache(60_000, 0, 0, circuitBreaker(20));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Future<String> before = refreshExecutor.submit(() -> cache.get("key", () -> {
+            loadStarted.countDown();
+            try {
+                releaseLoad.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v1";
+        }));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        cache.invalidate("key");
+        Future<String> after = refreshExecutor.submit(() -> cache.get("key", () -> "v2"));
+        releaseLoad.countDown();
+
+        assertEquals("v1", before.get(5, TimeUnit.SECONDS));
+        assertEquals("v2", after.get(5, TimeUnit.SECONDS));
+        assertEquals("v2", cache.get("key", () -> "v3"));
+    }
+}
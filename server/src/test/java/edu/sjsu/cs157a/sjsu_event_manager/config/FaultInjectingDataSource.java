@@ -0,0 +1,98 @@
+package edu.sjsu.cs157a.sjsu_event_manager.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * a DataSource that misbehaves the way its FaultInjector says: getConnection is delayed or refused,
+ * and statements are delayed or fail before they reach the database
+ * meant to sit on top of the connection pool, so a delayed statement keeps its pooled connection busy
+ * while a delayed getConnection is waiting for the pool, not occupying it
+ */
+public class FaultInjectingDataSource extends DelegatingDataSource {
+
+    private final FaultInjector faults;
+
+    public FaultInjectingDataSource(DataSource target, FaultInjector faults) {
+        super(target);
+        this.faults = faults;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        faults.beforeConnection();
+        return faulty(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        faults.beforeConnection();
+        return faulty(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(FaultInjectingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private Connection faulty(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = call(connection, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String given ? given : null;
+            if (result instanceof CallableStatement callable) {
+                return faulty(CallableStatement.class, callable, sql);
+            }
+            if (result instanceof PreparedStatement prepared) {
+                return faulty(PreparedStatement.class, prepared, sql);
+            }
+            if (result instanceof Statement statement) {
+                return faulty(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    // preparedSql is null for plain statements, which get their SQL with each execute call
+    private <T extends Statement> T faulty(Class<T> type, T statement, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String given ? given : preparedSql;
+                faults.beforeStatement(sql != null ? sql : "");
+            }
+            return call(statement, method, args);
+        });
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
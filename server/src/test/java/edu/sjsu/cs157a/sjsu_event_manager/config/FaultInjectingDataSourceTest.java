@@ -0,0 +1,83 @@
+package edu.sjsu.cs157a.sjsu_event_manager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultInjectingDataSourceTest {
+
+    private final FaultInjector faults = new FaultInjector(7);
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new FaultInjectingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:faults;DB_CLOSE_DELAY=-1", "sa", ""), faults));
+
+    private long millis(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @Test
+    public void testOnlyMatchingStatementsAreSlowed() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS registrations (id INT PRIMARY KEY)");
+        faults.slowStatements("COUNT\\(\\*\\) FROM registrations", FaultInjector.Latency.fixed(200));
+
+        assertTrue(millis(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registrations", Integer.class)) >= 200);
+        assertTrue(millis(() -> jdbcTemplate.queryForList("SELECT id FROM registrations", Integer.class)) < 200);
+        assertEquals(1, faults.getDelays());
+        assertEquals(200, faults.getDelayedMillis());
+    }
+
+    @Test
+    public void testFailuresSurfaceAsTransientErrors() {
+        faults.failStatements("SELECT", 1.0);
+        assertThrows(TransientDataAccessException.class, () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        faults.failConnections(1.0);
+        assertThrows(CannotGetJdbcConnectionException.class, () -> jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS other (id INT)"));
+        assertEquals(2, faults.getFailures());
+
+        faults.reset();
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        assertEquals(0, faults.getFailures());
+    }
+
+    @Test
+    public void testFailureRateIsApproximatelyHonored() {
+        faults.failStatements("SELECT", 0.25);
+        int failed = 0;
+        for (int i = 0; i < 400; i++) {
+            try {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            } catch (TransientDataAccessException e) {
+                failed++;
+            }
+        }
+        assertTrue(failed > 60 && failed < 140, "failed " + failed + " of 400");
+    }
+
+    @Test
+    public void testConnectionLatency() {
+        faults.connectionLatency(FaultInjector.Latency.fixed(100));
+        assertTrue(millis(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)) >= 100);
+    }
+
+    @Test
+    public void testLatencySpecs() {
+        Random random = new Random(1);
+        assertEquals(0, FaultInjector.Latency.parse("0").sampleNanos(random));
+        assertEquals(5_000_000, FaultInjector.Latency.parse("5ms").sampleNanos(random));
+        assertEquals(1_500_000_000L, FaultInjector.Latency.parse("1.5s").sampleNanos(random));
+        assertEquals(250_000, FaultInjector.Latency.parse("250us").sampleNanos(random));
+        for (int i = 0; i < 100; i++) {
+            long uniform = FaultInjector.Latency.parse("2ms-4ms").sampleNanos(random);
+            assertTrue(uniform >= 2_000_000 && uniform < 4_000_000);
+            assertTrue(FaultInjector.Latency.parse("lognormal:5ms:1.0").sampleNanos(random) > 0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> FaultInjector.Latency.parse("5"));
+    }
+}
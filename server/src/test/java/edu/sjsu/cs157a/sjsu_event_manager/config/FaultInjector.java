@@ -0,0 +1,225 @@
+package edu.sjsu.cs157a.sjsu_event_manager.config;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * the misbehavior a FaultInjectingDataSource adds to the database: a delay and a failure rate when a connection
+ * is handed out, and per-statement rules that delay or fail every statement whose SQL matches a pattern
+ * rules can be changed while requests are running; reset() puts everything back to a well-behaved database
+ *
+ * faults.slowStatements("COUNT\\(\\*\\) FROM registrations", Latency.logNormal(50, 1.0));
+ * faults.failStatements("FROM events", 0.2);
+ */
+public class FaultInjector {
+
+    /**
+     * how long an injected delay lasts, in nanoseconds
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        long sampleNanos(Random random);
+
+        static Latency none() {
+            return random -> 0;
+        }
+
+        static Latency fixed(double millis) {
+            long nanos = toNanos(millis);
+            return random -> nanos;
+        }
+
+        static Latency uniform(double minMillis, double maxMillis) {
+            long min = toNanos(minMillis);
+            long max = toNanos(maxMillis);
+            return random -> min + (long) (random.nextDouble() * (max - min));
+        }
+
+        /**
+         * half the delays are below medianMillis; sigma stretches the tail (1.0 puts p99 at about ten times the median)
+         */
+        static Latency logNormal(double medianMillis, double sigma) {
+            long median = toNanos(medianMillis);
+            return random -> (long) (median * Math.exp(sigma * random.nextGaussian()));
+        }
+
+        /**
+         * "0", "5ms", "2ms-20ms" (uniform) or "lognormal:5ms:1.0" (median, sigma); units are us, ms or s
+         */
+        static Latency parse(String spec) {
+            String trimmed = spec.trim();
+            if (trimmed.isEmpty() || trimmed.equals("0")) {
+                return none();
+            }
+            if (trimmed.startsWith("lognormal:")) {
+                String[] parts = trimmed.split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("expected lognormal:<median>:<sigma>, got: " + spec);
+                }
+                return logNormal(parseMillis(parts[1]), Double.parseDouble(parts[2]));
+            }
+            int dash = trimmed.indexOf('-');
+            if (dash > 0) {
+                return uniform(parseMillis(trimmed.substring(0, dash)), parseMillis(trimmed.substring(dash + 1)));
+            }
+            return fixed(parseMillis(trimmed));
+        }
+
+        private static double parseMillis(String value) {
+            String trimmed = value.trim();
+            if (trimmed.endsWith("us")) {
+                return Double.parseDouble(trimmed.substring(0, trimmed.length() - 2)) / 1000;
+            }
+            if (trimmed.endsWith("ms")) {
+                return Double.parseDouble(trimmed.substring(0, trimmed.length() - 2));
+            }
+            if (trimmed.endsWith("s")) {
+                return Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * 1000;
+            }
+            throw new IllegalArgumentException("expected a duration in us, ms or s, got: " + value);
+        }
+
+        private static long toNanos(double millis) {
+            return (long) (millis * 1_000_000);
+        }
+    }
+
+    private record Rule(Pattern sql, Latency latency, double failureRate) {
+    }
+
+    private final Random random;
+    private final List<Rule> rules = new CopyOnWriteArrayList<>();
+    private volatile Latency connectionLatency = Latency.none();
+    private volatile double connectionFailureRate;
+
+    private final AtomicLong delays = new AtomicLong();
+    private final AtomicLong delayedNanos = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public FaultInjector(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * add the faults set by system properties under prefix (used by the load test):
+     * connectionLatency, connectionFailureRate, statementLatency, statementFailureRate,
+     * and slowSql (a regular expression) with slowSqlLatency
+     */
+    public FaultInjector withSystemProperties(String prefix) {
+        connectionLatency(Latency.parse(System.getProperty(prefix + "connectionLatency", "0")));
+        failConnections(Double.parseDouble(System.getProperty(prefix + "connectionFailureRate", "0")));
+        String statementLatency = System.getProperty(prefix + "statementLatency", "0");
+        if (!statementLatency.equals("0")) {
+            slowStatements("", Latency.parse(statementLatency));
+        }
+        double statementFailureRate = Double.parseDouble(System.getProperty(prefix + "statementFailureRate", "0"));
+        if (statementFailureRate > 0) {
+            failStatements("", statementFailureRate);
+        }
+        String slowSql = System.getProperty(prefix + "slowSql", "");
+        if (!slowSql.isBlank()) {
+            slowStatements(slowSql, Latency.parse(System.getProperty(prefix + "slowSqlLatency", "100ms")));
+        }
+        return this;
+    }
+
+    public FaultInjector connectionLatency(Latency latency) {
+        this.connectionLatency = latency;
+        return this;
+    }
+
+    public FaultInjector failConnections(double rate) {
+        this.connectionFailureRate = rate;
+        return this;
+    }
+
+    /**
+     * delay every statement whose SQL contains a match for regex; delays of several matching rules add up
+     */
+    public FaultInjector slowStatements(String regex, Latency latency) {
+        rules.add(new Rule(Pattern.compile(regex, Pattern.CASE_INSENSITIVE), latency, 0));
+        return this;
+    }
+
+    /**
+     * fail this share (0 to 1) of the statements whose SQL contains a match for regex
+     */
+    public FaultInjector failStatements(String regex, double rate) {
+        rules.add(new Rule(Pattern.compile(regex, Pattern.CASE_INSENSITIVE), Latency.none(), rate));
+        return this;
+    }
+
+    public void reset() {
+        rules.clear();
+        connectionLatency = Latency.none();
+        connectionFailureRate = 0;
+        delays.set(0);
+        delayedNanos.set(0);
+        failures.set(0);
+    }
+
+    public long getDelays() {
+        return delays.get();
+    }
+
+    public long getDelayedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(delayedNanos.get());
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    void beforeConnection() throws SQLException {
+        delay(connectionLatency.sampleNanos(random));
+        if (fails(connectionFailureRate)) {
+            throw new SQLTransientConnectionException("injected fault: connection refused", "08001");
+        }
+    }
+
+    void beforeStatement(String sql) throws SQLException {
+        long nanos = 0;
+        boolean fail = false;
+        for (Rule rule : rules) {
+            if (rule.sql().matcher(sql).find()) {
+                nanos += rule.latency().sampleNanos(random);
+                fail |= fails(rule.failureRate());
+            }
+        }
+        // a failing statement still takes its time, like a query that times out
+        delay(nanos);
+        if (fail) {
+            throw new SQLTransientException("injected fault: statement failed", "40001");
+        }
+    }
+
+    private boolean fails(double rate) {
+        if (rate > 0 && random.nextDouble() < rate) {
+            failures.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void delay(long nanos) throws SQLException {
+        if (nanos <= 0) {
+            return;
+        }
+        delays.incrementAndGet();
+        delayedNanos.addAndGet(nanos);
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientException("interrupted during an injected delay", e);
+        }
+    }
+}
@@ -2,9 +2,15 @@ package edu.sjsu.cs157a.sjsu_event_manager.config;
 
 import javax.sql.DataSource;
 
+import com.zaxxer.hikari.HikariDataSource;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.RegistrationRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.UserRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
@@ -14,9 +20,17 @@ import org.springframework.jdbc.datasource.init.DatabasePopulator;
 @TestConfiguration
 public class TestConfig {
 
+    /**
+     * no faults unless a test adds them; tests that do should reset() it afterwards, the context is shared
+     */
+    @Bean
+    public FaultInjector faultInjector() {
+        return new FaultInjector(42);
+    }
+
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(FaultInjector faultInjector) {
         DataSource dataSource = new EmbeddedDatabaseBuilder()
                 .setType(EmbeddedDatabaseType.H2)
                 .build();
@@ -31,6 +45,21 @@ public class TestConfig {
             throw new RuntimeException("Failed to initialize test database", e);
         }
         
-        return dataSource;
+        // pooled like the application's DataSource; opening an H2 session per statement would dominate
+        // what requests cost (allocation budgets, concurrency tests)
+        HikariDataSource pool = new HikariDataSource();
+        pool.setDataSource(dataSource);
+        pool.setPoolName("test");
+        // H2 gives up on a row lock after one second; contended registrations queue longer than that
+        pool.setConnectionInitSql("SET LOCK_TIMEOUT 10000");
+
+        // lets tests assert how many statements a request issued, and make the database slow or failing
+        return QueryCounter.counting(new FaultInjectingDataSource(pool, faultInjector));
+    }
+
+    @Bean
+    public TestData testData(UserRepository userRepository, EventRepository eventRepository, RegistrationRepository registrationRepository,
+                             JwtUtils jwtUtils, JdbcTemplate jdbcTemplate) {
+        return new TestData(userRepository, eventRepository, registrationRepository, jwtUtils, jdbcTemplate);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package edu.sjsu.cs157a.sjsu_event_manager.config;
+
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
+import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.RegistrationRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.UserRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
+import jakarta.servlet.http.Cookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * rows for tests, written through the repositories like the application writes them
+ * a bean of TestConfig, so any test importing it can autowire one
+ */
+public class TestData {
+
+    /**
+     * what seed() wrote: the fan and the events in start time order
+     */
+    public record Seed(User fan, List<Event> events) {
+    }
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final JwtUtils jwtUtils;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(UserRepository userRepository, EventRepository eventRepository, RegistrationRepository registrationRepository,
+                    JwtUtils jwtUtils, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.jwtUtils = jwtUtils;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void clear() {
+        jdbcTemplate.execute("DELETE FROM registrations");
+        jdbcTemplate.execute("DELETE FROM events");
+        jdbcTemplate.execute("DELETE FROM users");
+    }
+
+    public User saveUser(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPasswordHash("hash");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    // participant0, participant1, ...
+    public List<User> saveUsers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(saveUser("participant" + i, User.Role.USER));
+        }
+        return users;
+    }
+
+    /**
+     * an hour-long event with a description and location of realistic length
+     */
+    public Event saveEvent(String title, User organizer, LocalDateTime startTime, Integer maxAttendees) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDescription("A description of a realistic length for " + title + ", shown on its detail page.");
+        event.setLocation("Engineering Building, room 101");
+        event.setStartTime(startTime);
+        event.setEndTime(startTime.plusHours(1));
+        event.setCategory("Category");
+        event.setOrganizer(organizer);
+        event.setMaxAttendees(maxAttendees);
+        return eventRepository.save(event);
+    }
+
+    public Registration register(User user, Event event) {
+        return registrationRepository.save(new Registration(user, event));
+    }
+
+    public Cookie loggedInAs(User user) {
+        return new Cookie("jwt-token", jwtUtils.generateTokenFromUsername(user.getUsername()));
+    }
+
+    /**
+     * rows events, each with its own organizer; one fan registered for all of them, and rows
+     * other participants registered for the first event
+     */
+    public Seed seed(int rows) {
+        User fan = saveUser("fan", User.Role.USER);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            User organizer = saveUser("organizer" + i, User.Role.ORGANIZER);
+            Event event = saveEvent("Event " + i, organizer, LocalDateTime.now().plusDays(1 + i), rows + 10);
+            events.add(event);
+            register(fan, event);
+        }
+        for (User participant : saveUsers(rows)) {
+            register(participant, events.get(0));
+        }
+        return new Seed(fan, events);
+    }
+}
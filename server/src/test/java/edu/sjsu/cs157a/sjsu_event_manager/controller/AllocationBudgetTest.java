@@ -0,0 +1,153 @@
+package edu.sjsu.cs157a.sjsu_event_manager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestConfig;
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestData;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * each endpoint has a budget of bytes allocated per request, a fixed part plus a part per row returned,
+ * measured with the JVM's per-thread allocation counter (MockMvc serves the request on the test thread)
+ * requests are repeated until class loading and caches have settled, then the median of the measured runs counts
+ * budgets are about 1.5x what was measured: a copy or lookup per row shows up in the per-row part
+ * the measurements are written to target/allocation-report.json
+ * printing is off, as MockMvc otherwise buffers every exchange in case the test fails
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_REQUESTS = 30;
+    private static final int MEASURED_REQUESTS = 15;
+    private static final Map<String, Long> REPORT = new TreeMap<>();
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    private List<Event> events;
+    private User fan;
+
+    @BeforeAll
+    public static void enableAllocationCounters() {
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "this JVM cannot count allocated bytes per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @AfterAll
+    public static void writeReport() throws Exception {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(new File("target/allocation-report.json"), REPORT);
+    }
+
+    @BeforeEach
+    public void clearDatabase() {
+        testData.clear();
+    }
+
+    // the same data as QueryBudgetTest, see TestData.seed
+    private void seed(int rows) {
+        TestData.Seed seed = testData.seed(rows);
+        fan = seed.fan();
+        events = seed.events();
+    }
+
+    private Cookie loggedInAs(User user) {
+        return testData.loggedInAs(user);
+    }
+
+    private long allocatedPerRequest(MockHttpServletRequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        long[] allocated = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            mockMvc.perform(request);
+            allocated[i] = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        Arrays.sort(allocated);
+        return allocated[MEASURED_REQUESTS / 2];
+    }
+
+    private void assertWithinBudget(String endpoint, int rows, long fixedKb, long perRowKb, MockHttpServletRequestBuilder request) throws Exception {
+        long allocated = allocatedPerRequest(request);
+        REPORT.put(endpoint + " (" + rows + " rows)", allocated);
+        long budget = (fixedKb + perRowKb * rows) * 1024;
+        assertTrue(allocated <= budget, () -> endpoint + " allocated " + allocated / 1024 + " KB per request with " + rows
+                + " rows, budget is " + budget / 1024 + " KB");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testListEvents(int rows) throws Exception {
+        seed(rows);
+        assertWithinBudget("GET /api/events", rows, 192, 10, get("/api/events"));
+        assertWithinBudget("GET /api/events?category", rows, 192, 10, get("/api/events").param("category", "category"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testEventDetail(int rows) throws Exception {
+        seed(rows);
+        assertWithinBudget("GET /api/events/{id}", rows, 192, 0, get("/api/events/{id}", events.get(0).getEventId()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testEventRegistrations(int rows) throws Exception {
+        seed(rows);
+        User organizer = events.get(0).getOrganizer();
+        assertWithinBudget("GET /api/events/{id}/registrations", rows, 320, 5,
+                get("/api/events/{id}/registrations", events.get(0).getEventId()).cookie(loggedInAs(organizer)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testRegistrationStatus(int rows) throws Exception {
+        seed(rows);
+        assertWithinBudget("GET /api/events/{id}/registrations/status", rows, 320, 0,
+                get("/api/events/{id}/registrations/status", events.get(0).getEventId()).cookie(loggedInAs(fan)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testMyRegistrations(int rows) throws Exception {
+        seed(rows);
+        assertWithinBudget("GET /api/users/me/registrations", rows, 320, 6, get("/api/users/me/registrations").cookie(loggedInAs(fan)));
+    }
+}
@@ -0,0 +1,629 @@
+package edu.sjsu.cs157a.sjsu_event_manager.controller;
+
+import edu.sjsu.cs157a.sjsu_event_manager.cache.DatabaseCircuitBreaker;
+import edu.sjsu.cs157a.sjsu_event_manager.config.FaultInjector;
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestConfig;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.HotKeyDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
+import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.HeavyHitters;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.LatencyHistograms;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.SqlStatementStats;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.RegistrationRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.UserRepository;
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
+import edu.sjsu.cs157a.sjsu_event_manager.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+public class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LatencyHistograms latencyHistograms;
+
+    @Autowired
+    private SqlStatementStats sqlStatementStats;
+
+    @Autowired
+    private FaultInjector faultInjector;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private HeavyHitters heavyHitters;
+
+    private User organizerUser;
+    private Event testEvent;
+
+    @BeforeEach
+    public void clearDatabase() {
+        jdbcTemplate.execute("DELETE FROM registrations");
+        jdbcTemplate.execute("DELETE FROM events");
+        jdbcTemplate.execute("DELETE FROM users");
+        organizerUser = new User();
+        organizerUser.setUsername("organizer");
+        organizerUser.setEmail("org@test.com");
+        organizerUser.setPasswordHash("hash");
+        organizerUser.setFirstName("Org");
+        organizerUser.setLastName("User");
+        organizerUser.setRole(User.Role.ORGANIZER);
+        organizerUser = userRepository.save(organizerUser);
+        testEvent = new Event();
+        testEvent.setTitle("Test Event");
+        testEvent.setDescription("desc");
+        testEvent.setLocation("loc");
+        testEvent.setStartTime(LocalDateTime.now().plusDays(1));
+        testEvent.setEndTime(LocalDateTime.now().plusDays(1).plusHours(1));
+        testEvent.setCategory("Category");
+        testEvent.setOrganizer(organizerUser);
+        testEvent.setMaxAttendees(10);
+        testEvent = eventRepository.save(testEvent);
+    }
+
+    @Test
+    public void testEventDetailRevalidation() throws Exception {
+        String etag = mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"0-0-"), etag);
+
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // a registration changes the representation without touching the event row
+        registrationRepository.save(new Registration(organizerUser, testEvent));
+        String registered = mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(registered.startsWith("\"0-1-"), registered);
+
+        // so does renaming the organizer, even while the event is near-cached
+        organizerUser.setUsername("renamed");
+        userRepository.save(organizerUser);
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, registered))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.organizerUsername").value("renamed"));
+    }
+
+    @AfterEach
+    public void healDatabase() {
+        faultInjector.reset();
+    }
+
+    @Test
+    public void testEventListServedStaleWhileDatabaseFails() throws Exception {
+        String fresh = mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        faultInjector.failStatements("FROM events", 1.0);
+        String stale = mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(fresh, stale);
+        assertTrue(faultInjector.getFailures() > 0);
+
+        faultInjector.reset();
+        eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Changed"), null, null);
+        mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Changed"));
+    }
+
+    @Test
+    public void testOpenCircuitIsServiceUnavailable() throws Exception {
+        // the version probe records each failure without throwing
+        faultInjector.failStatements("FROM events", 1.0);
+        for (int i = 0; i < 20 && circuitBreaker.getState() != DatabaseCircuitBreaker.State.OPEN; i++) {
+            eventService.getEventVersion(testEvent.getEventId());
+        }
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // none of these were cached before the database went down
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").exists());
+        mockMvc.perform(get("/api/events").param("ids", String.valueOf(testEvent.getEventId())))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/events").param("category", "Never Listed"))
+                .andExpect(status().isServiceUnavailable());
+
+        faultInjector.reset();
+        Thread.sleep(250);
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk());
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testEventListRevalidation() throws Exception {
+        String etag = mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/events").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Changed"), null, null);
+        String changed = mockMvc.perform(get("/api/events").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    // an http date after every change so far: a Last-Modified from the surviving rows would answer 304
+    private static String inAMinute() {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+    }
+
+    @Test
+    public void testIfModifiedSinceAfterDelete() throws Exception {
+        String etag = mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(delete("/api/events/{id}", testEvent.getEventId())
+                        .cookie(new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("organizer"))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/events").header(HttpHeaders.IF_MODIFIED_SINCE, inAMinute()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/events").header(HttpHeaders.IF_NONE_MATCH, etag).header(HttpHeaders.IF_MODIFIED_SINCE, inAMinute()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testIfModifiedSinceAfterDeregistration() throws Exception {
+        User participant = new User();
+        participant.setUsername("participant");
+        participant.setEmail("participant@test.com");
+        participant.setPasswordHash("hash");
+        participant.setFirstName("Part");
+        participant.setLastName("Icipant");
+        participant.setRole(User.Role.USER);
+        participant = userRepository.save(participant);
+        registrationRepository.save(new Registration(participant, testEvent));
+
+        String etag = mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registrationCount").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(delete("/api/events/{id}/register", testEvent.getEventId())
+                        .cookie(new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("participant"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_MODIFIED_SINCE, inAMinute()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registrationCount").value(0));
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/events").header(HttpHeaders.IF_MODIFIED_SINCE, inAMinute()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].registrationCount").value(0));
+    }
+
+    @Test
+    public void testEventsByIdsInRequestOrder() throws Exception {
+        Event second = new Event();
+        second.setTitle("Second Event");
+        second.setDescription("desc");
+        second.setLocation("loc");
+        second.setStartTime(LocalDateTime.now().plusDays(2));
+        second.setEndTime(LocalDateTime.now().plusDays(2).plusHours(1));
+        second.setCategory("Category");
+        second.setOrganizer(organizerUser);
+        second.setMaxAttendees(10);
+        second = eventRepository.save(second);
+        int missing = second.getEventId() + 1;
+
+        String etag = mockMvc.perform(get("/api/events").param("ids", second.getEventId() + "," + missing + "," + testEvent.getEventId() + "," + second.getEventId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Second Event"))
+                .andExpect(jsonPath("$[1].title").value("Test Event"))
+                .andExpect(jsonPath("$[1].organizerUsername").value("organizer"))
+                .andExpect(jsonPath("$[1].registrationCount").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/events").param("ids", second.getEventId() + "," + missing + "," + testEvent.getEventId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testEventsByIdsIsCapped() throws Exception {
+        String tooMany = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/events").param("ids", tooMany))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/events").param("ids", String.valueOf(testEvent.getEventId())).param("category", "Category"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/events").param("ids", "one"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testEventsByIdsSkipEmptyIds() throws Exception {
+        int missing = testEvent.getEventId() + 1;
+        mockMvc.perform(get("/api/events").param("ids", testEvent.getEventId() + ",," + missing + ","))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].eventId").value(testEvent.getEventId()));
+        mockMvc.perform(get("/api/events").param("ids", ","))
+                .andExpect(status().isBadRequest());
+        // only real ids count towards the limit
+        String padded = IntStream.rangeClosed(1, 100).mapToObj(String::valueOf).collect(Collectors.joining(",,"));
+        mockMvc.perform(get("/api/events").param("ids", padded))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRegistrationStatusesForSeveralEvents() throws Exception {
+        User participant = new User();
+        participant.setUsername("participant");
+        participant.setEmail("participant@test.com");
+        participant.setPasswordHash("hash");
+        participant.setFirstName("Part");
+        participant.setLastName("Icipant");
+        participant.setRole(User.Role.USER);
+        participant = userRepository.save(participant);
+        registrationRepository.save(new Registration(participant, testEvent));
+        int missing = testEvent.getEventId() + 1;
+
+        mockMvc.perform(get("/api/events/registrations/status").param("ids", missing + "," + testEvent.getEventId())
+                        .cookie(new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("participant"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + missing + "']").value(false))
+                .andExpect(jsonPath("$['" + testEvent.getEventId() + "']").value(true));
+        mockMvc.perform(get("/api/events/registrations/status").param("ids", String.valueOf(testEvent.getEventId()))
+                        .cookie(new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("organizer"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + testEvent.getEventId() + "']").value(false));
+        mockMvc.perform(get("/api/events/registrations/status").param("ids", String.valueOf(testEvent.getEventId())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRegistrationStatusesSkipEmptyIds() throws Exception {
+        Cookie organizer = new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("organizer"));
+        int missing = testEvent.getEventId() + 1;
+        mockMvc.perform(get("/api/events/registrations/status").param("ids", testEvent.getEventId() + ",," + missing + ",").cookie(organizer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['" + testEvent.getEventId() + "']").value(false))
+                .andExpect(jsonPath("$['" + missing + "']").value(false));
+        mockMvc.perform(get("/api/events/registrations/status").param("ids", ",").cookie(organizer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testEventDetailForEachKindOfCaller() throws Exception {
+        User participant = new User();
+        participant.setUsername("participant");
+        participant.setEmail("participant@test.com");
+        participant.setPasswordHash("hash");
+        participant.setFirstName("Part");
+        participant.setLastName("Icipant");
+        participant.setRole(User.Role.USER);
+        participant = userRepository.save(participant);
+        registrationRepository.save(new Registration(participant, testEvent));
+
+        mockMvc.perform(get("/api/events/{id}/detail", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.event.title").value("Test Event"))
+                .andExpect(jsonPath("$.seatsRemaining").value(9))
+                .andExpect(jsonPath("$.registered").isEmpty())
+                .andExpect(jsonPath("$.viewer").isEmpty())
+                .andExpect(jsonPath("$.roster").isEmpty());
+
+        mockMvc.perform(get("/api/events/{id}/detail", testEvent.getEventId())
+                        .cookie(new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("participant"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andExpect(jsonPath("$.registered").value(true))
+                .andExpect(jsonPath("$.viewer.username").value("participant"))
+                .andExpect(jsonPath("$.roster").isEmpty());
+
+        mockMvc.perform(get("/api/events/{id}/detail", testEvent.getEventId())
+                        .cookie(new Cookie("jwt-token", jwtUtils.generateTokenFromUsername("organizer"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registered").value(false))
+                .andExpect(jsonPath("$.viewer.roles[0]").value("ROLE_ORGANIZER"))
+                .andExpect(jsonPath("$.roster.registrationCount").value(1))
+                .andExpect(jsonPath("$.roster.latestRegistrations[0].userUsername").value("participant"));
+
+        mockMvc.perform(get("/api/events/{id}/detail", testEvent.getEventId() + 1))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testMissingEventIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId() + 1))
+                .andExpect(status().isNotFound());
+    }
+
+    private Cookie loggedInAs(String username) {
+        return new Cookie("jwt-token", jwtUtils.generateTokenFromUsername(username));
+    }
+
+    private ResultActions patchEvent(Object eventId, String json, String ifMatch) throws Exception {
+        MockHttpServletRequestBuilder request = patch("/api/events/{id}", eventId)
+                .cookie(loggedInAs("organizer"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    @Test
+    public void testPatchEventWritesOnlyTheGivenFields() throws Exception {
+        patchEvent(testEvent.getEventId(), "{\"title\": \"Patched\"}", null)
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched"))
+                .andExpect(jsonPath("$.location").value("loc"))
+                .andExpect(jsonPath("$.maxAttendees").value(10));
+
+        patchEvent(testEvent.getEventId(), "{\"location\": \"elsewhere\", \"maxAttendees\": 5}", null)
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched"))
+                .andExpect(jsonPath("$.description").value("desc"))
+                .andExpect(jsonPath("$.location").value("elsewhere"))
+                .andExpect(jsonPath("$.maxAttendees").value(5))
+                .andExpect(jsonPath("$.version").value(2));
+
+        // with If-Match the new version is known without reading the row back
+        patchEvent(testEvent.getEventId(), "{\"category\": \"Other\"}", "\"2\"")
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    public void testPatchEventRejections() throws Exception {
+        User otherOrganizer = new User();
+        otherOrganizer.setUsername("other");
+        otherOrganizer.setEmail("other@test.com");
+        otherOrganizer.setPasswordHash("hash");
+        otherOrganizer.setFirstName("Other");
+        otherOrganizer.setLastName("Organizer");
+        otherOrganizer.setRole(User.Role.ORGANIZER);
+        userRepository.save(otherOrganizer);
+
+        patchEvent(testEvent.getEventId() + 1, "{\"title\": \"Patched\"}", null)
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/events/{id}", testEvent.getEventId())
+                        .cookie(loggedInAs("other"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Patched\"}"))
+                .andExpect(status().isForbidden());
+        patchEvent(testEvent.getEventId(), "{\"title\": \"Patched\"}", "\"1\"")
+                .andExpect(status().isPreconditionFailed());
+        // checked against the stored start time by the update itself
+        String beforeStart = testEvent.getStartTime().minusHours(1).withNano(0).toString();
+        patchEvent(testEvent.getEventId(), "{\"endTime\": \"" + beforeStart + "\"}", null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("End time cannot be before start time"));
+        patchEvent(testEvent.getEventId(), "{}", null)
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(jsonPath("$.title").value("Test Event"))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    private String eventJson(String title) {
+        return "{\"title\": \"" + title + "\", \"description\": \"desc\", \"location\": \"loc\", \"category\": \"Category\", "
+                + "\"startTime\": \"" + testEvent.getStartTime().withNano(0) + "\", \"endTime\": \"" + testEvent.getEndTime().withNano(0) + "\", "
+                + "\"maxAttendees\": 10}";
+    }
+
+    private ResultActions putEvent(String json, String ifMatch) throws Exception {
+        MockHttpServletRequestBuilder request = put("/api/events/{id}", testEvent.getEventId())
+                .cookie(loggedInAs("organizer"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    @Test
+    public void testPutWithIfMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // the tag from GET is the precondition for the update
+        String updated = putEvent(eventJson("First"), etag)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("First"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(updated);
+        assertTrue(updated.startsWith("\"1-0-"), updated);
+
+        putEvent(eventJson("Lost update"), etag)
+                .andExpect(status().isPreconditionFailed());
+        putEvent(eventJson("Two tags"), etag + ", " + etag)
+                .andExpect(status().isBadRequest());
+        putEvent(eventJson("Second"), updated)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+        putEvent(eventJson("Unconditional"), "*")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3));
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(jsonPath("$.title").value("Unconditional"));
+    }
+
+    @Test
+    public void testPatchWithIfMatch() throws Exception {
+        patchEvent(testEvent.getEventId(), "{\"title\": \"First\"}", "\"0\"")
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        patchEvent(testEvent.getEventId(), "{\"title\": \"Lost update\"}", "\"0\"")
+                .andExpect(status().isPreconditionFailed());
+        // a weak tag never matches, and a malformed one fails the precondition instead of being ignored
+        patchEvent(testEvent.getEventId(), "{\"title\": \"Weak\"}", "W/\"1\"")
+                .andExpect(status().isPreconditionFailed());
+        patchEvent(testEvent.getEventId(), "{\"title\": \"Malformed\"}", "1")
+                .andExpect(status().isPreconditionFailed());
+        patchEvent(testEvent.getEventId(), "{\"title\": \"Second\"}", "\"1-0-0000abcd\"")
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(jsonPath("$.title").value("Second"))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    public void testEventETagRoundTripAfterUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        String updated = putEvent(eventJson("Renamed"), etag)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updated))
+                .andExpect(jsonPath("$.title").value("Renamed"));
+        // the tag returned by the update revalidates the next read
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()).header(HttpHeaders.IF_NONE_MATCH, updated))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testOnlyValidEventIdsAreHotKeys() throws Exception {
+        String eventId = String.valueOf(testEvent.getEventId());
+        long before = eventHeat(eventId);
+        mockMvc.perform(get("/api/events/{id}", eventId));
+        mockMvc.perform(get("/api/events/{id}", "00" + eventId));
+        mockMvc.perform(get("/api/events/{id}", "not-an-id"));
+        mockMvc.perform(get("/api/events/{id}", "-" + eventId));
+        mockMvc.perform(get("/api/events/{id}", "0"));
+
+        // count-min estimates can only run high
+        assertTrue(eventHeat(eventId) >= before + 2);
+        for (HotKeyDTO hotKey : heavyHitters.top(HeavyHitters.Dimension.EVENT, 1000)) {
+            assertTrue(hotKey.getKey().matches("[1-9][0-9]*"), hotKey.getKey());
+        }
+    }
+
+    private long eventHeat(String eventId) {
+        return heavyHitters.top(HeavyHitters.Dimension.EVENT, 1000).stream()
+                .filter(hotKey -> hotKey.getKey().equals(eventId))
+                .mapToLong(HotKeyDTO::getEstimatedCount)
+                .sum();
+    }
+
+    @Test
+    public void testRepositoryCallsAreMetered() throws Exception {
+        mockMvc.perform(get("/api/events/{id}", testEvent.getEventId() + 1))
+                .andExpect(status().isNotFound());
+
+        assertTrue(meterRegistry.get("repository.calls")
+                .tag("repository", "EventRepository").tag("method", "findVersionById").tag("outcome", "miss")
+                .timer().count() > 0);
+        assertTrue(meterRegistry.get("http.server.requests.repository.calls")
+                .tag("method", "GET").tag("uri", "/api/events/{id}")
+                .summary().totalAmount() > 0);
+        assertTrue(sqlStatementStats.top(100, "calls").stream()
+                .anyMatch(statement -> statement.getFingerprint().startsWith("SELECT e.event_id")));
+    }
+
+    @Test
+    public void testServerTimingBreakdownAndRouteHistogram() throws Exception {
+        String serverTiming = mockMvc.perform(get("/api/events/{id}", testEvent.getEventId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("db;dur="), serverTiming);
+        assertTrue(serverTiming.contains("ser;dur="), serverTiming);
+        assertTrue(serverTiming.matches(".*total;dur=\\d+\\.\\d{3}$"), serverTiming);
+
+        assertTrue(latencyHistograms.snapshot().stream()
+                .anyMatch(route -> route.getRoute().equals("GET /api/events/{id}") && route.getCount() > 0));
+    }
+}
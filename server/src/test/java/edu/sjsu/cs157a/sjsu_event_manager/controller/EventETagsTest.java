@@ -0,0 +1,40 @@
+package edu.sjsu.cs157a.sjsu_event_manager.controller;
+
+import edu.sjsu.cs157a.sjsu_event_manager.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventETagsTest {
+
+    @Test
+    public void testExpectedVersionFromStrongTags() {
+        assertEquals(3, EventETags.expectedVersion("\"3\""));
+        assertEquals(3, EventETags.expectedVersion(" \"3-12-0000abcd\" "));
+        assertEquals(3, EventETags.expectedVersion(EventETags.of(3, 12, "organizer")));
+    }
+
+    @Test
+    public void testNoPreconditionWithoutATag() {
+        assertNull(EventETags.expectedVersion(null));
+        assertNull(EventETags.expectedVersion(""));
+        assertNull(EventETags.expectedVersion("*"));
+        assertNull(EventETags.expectedVersion(" * "));
+    }
+
+    @Test
+    public void testWeakTagsNeverMatch() {
+        // If-Match uses the strong comparison
+        assertThrows(PreconditionFailedException.class, () -> EventETags.expectedVersion("W/\"3\""));
+        assertThrows(PreconditionFailedException.class, () -> EventETags.expectedVersion("W/\"3-12-0000abcd\""));
+    }
+
+    @Test
+    public void testMalformedTagsFailThePrecondition() {
+        assertThrows(PreconditionFailedException.class, () -> EventETags.expectedVersion("3"));
+        assertThrows(PreconditionFailedException.class, () -> EventETags.expectedVersion("\"\""));
+        assertThrows(PreconditionFailedException.class, () -> EventETags.expectedVersion("\"three\""));
+        assertThrows(PreconditionFailedException.class, () -> EventETags.expectedVersion("\"3"));
+        assertThrows(IllegalArgumentException.class, () -> EventETags.expectedVersion("\"3\", \"4\""));
+    }
+}
@@ -0,0 +1,163 @@
+package edu.sjsu.cs157a.sjsu_event_manager.controller;
+
+import edu.sjsu.cs157a.sjsu_event_manager.cache.CatalogCache;
+import edu.sjsu.cs157a.sjsu_event_manager.config.QueryCounter;
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestConfig;
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestData;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * each endpoint has a budget of SQL statements per request, and it has to hold for one row as well as for many:
+ * a statement per row (an N+1) blows the budget as soon as the data grows
+ * budgets include the conditional-GET version probe and, for authenticated endpoints, the JWT filter's user lookup
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+public class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private TestData testData;
+
+    private List<Event> events;
+    private User fan;
+
+    @BeforeEach
+    public void clearDatabase() {
+        testData.clear();
+    }
+
+    // see TestData.seed
+    private void seed(int rows) {
+        TestData.Seed seed = testData.seed(rows);
+        fan = seed.fan();
+        events = seed.events();
+        // every request below starts cold
+        eventRepository.clearCache();
+        catalogCache.invalidate();
+    }
+
+    private Cookie loggedInAs(User user) {
+        return testData.loggedInAs(user);
+    }
+
+    private void assertWithinBudget(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        QueryCounter.reset();
+        mockMvc.perform(request).andExpect(status().isOk());
+        int issued = QueryCounter.count();
+        List<String> statements = List.copyOf(QueryCounter.statements());
+        assertTrue(issued <= budget, () -> "issued " + issued + " statements, budget is " + budget + ":\n" + String.join("\n", statements));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testListEvents(int rows) throws Exception {
+        seed(rows);
+        // version probe, events, their organizers, their registration counts
+        assertWithinBudget(4, get("/api/events"));
+        assertWithinBudget(4, get("/api/events").param("category", "category"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testEventDetail(int rows) throws Exception {
+        seed(rows);
+        // version probe, event, organizer, registration count
+        assertWithinBudget(4, get("/api/events/{id}", events.get(0).getEventId()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testEventsByIds(int rows) throws Exception {
+        seed(rows);
+        String ids = events.stream().map(event -> String.valueOf(event.getEventId())).collect(Collectors.joining(","));
+        // events, their organizers, their registration counts
+        assertWithinBudget(3, get("/api/events").param("ids", ids));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testEventPage(int rows) throws Exception {
+        seed(rows);
+        Event event = events.get(0);
+        // event, organizer, registration count
+        assertWithinBudget(3, get("/api/events/{id}/detail", event.getEventId()));
+        // jwt user, current user, event, organizer, registration count, registration exists
+        catalogCache.invalidate();
+        assertWithinBudget(6, get("/api/events/{id}/detail", event.getEventId()).cookie(loggedInAs(fan)));
+        // ... plus the latest registrations, their users, and the exact count
+        catalogCache.invalidate();
+        assertWithinBudget(9, get("/api/events/{id}/detail", event.getEventId()).cookie(loggedInAs(event.getOrganizer())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testCategorySummaries(int rows) throws Exception {
+        seed(rows);
+        assertWithinBudget(1, get("/api/events/categories"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testEventRegistrations(int rows) throws Exception {
+        seed(rows);
+        User organizer = events.get(0).getOrganizer();
+        // jwt user, current user, event, organizer, registrations, their users
+        assertWithinBudget(6, get("/api/events/{id}/registrations", events.get(0).getEventId()).cookie(loggedInAs(organizer)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testRegistrationStatus(int rows) throws Exception {
+        seed(rows);
+        // jwt user, current user, event exists, registration exists
+        assertWithinBudget(4, get("/api/events/{id}/registrations/status", events.get(0).getEventId()).cookie(loggedInAs(fan)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testRegistrationStatuses(int rows) throws Exception {
+        seed(rows);
+        String ids = events.stream().map(event -> String.valueOf(event.getEventId())).collect(Collectors.joining(","));
+        // jwt user, current user, the user's registered events
+        assertWithinBudget(3, get("/api/events/registrations/status").param("ids", ids).cookie(loggedInAs(fan)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    public void testMyRegistrations(int rows) throws Exception {
+        seed(rows);
+        // jwt user, current user, registrations, their user, their events, the events' organizers
+        assertWithinBudget(6, get("/api/users/me/registrations").cookie(loggedInAs(fan)));
+    }
+}
@@ -0,0 +1,306 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * fills the schema with a synthetic, skewed dataset for benchmarks and load tests
+ * - users and organizers share one known password hash (BCrypt is far too slow to run per row)
+ * - events spread over the past month and the coming half year, across categories of uneven popularity;
+ *   a few organizers run most of them and most have a capacity limit
+ * - registrations follow a Zipf distribution over events (a handful are very popular, most get a few)
+ *   and a milder one over users, never exceeding capacity or repeating a user for an event
+ * rows are streamed to the database in batches, so memory does not grow with the number of registrations
+ * the same seed and scale produce the same rows (timestamps are relative to the moment of generation)
+ * new events are found by id afterwards, so nothing else should insert events while this runs
+ */
+public final class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    static final int BATCH_SIZE = 1000;
+
+    public static final List<String> CATEGORIES = List.of("Technology", "Academics", "Career Development", "Student Organization",
+            "Sports", "Arts & Culture", "Entertainment", "Community Service", "Health & Wellness", "Networking");
+    private static final String[] FORMATS = {"Workshop", "Meetup", "Lecture", "Info Session", "Social", "Panel",
+            "Hackathon", "Fair", "Tournament", "Showcase"};
+    private static final String[] LOCATIONS = {"Engineering Building", "King Library", "Student Union", "MacQuarrie Hall",
+            "Clark Hall", "Event Center", "Tower Lawn", "Music Building", "Career Center", "Spartan Recreation Center"};
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Carmen", "Dev", "Elena", "Farah", "Gabe", "Hiro",
+            "Isla", "Jamal", "Kai", "Lena", "Mateo", "Nina", "Omar", "Priya"};
+    private static final String[] LAST_NAMES = {"Nguyen", "Garcia", "Smith", "Patel", "Kim", "Lopez", "Chen", "Johnson",
+            "Singh", "Martinez", "Tran", "Brown"};
+    // share of events without a capacity limit, and the limits of the others (smaller ones more often)
+    private static final double UNLIMITED_SHARE = 0.1;
+    private static final int[] CAPACITIES = {20, 30, 50, 50, 75, 100, 100, 150, 200, 300, 500, 1000};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+    private double eventPopularityExponent = 1.1;
+    private double userActivityExponent = 0.6;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+    }
+
+    public void setEventPopularityExponent(double eventPopularityExponent) {
+        this.eventPopularityExponent = eventPopularityExponent;
+    }
+
+    public void setUserActivityExponent(double userActivityExponent) {
+        this.userActivityExponent = userActivityExponent;
+    }
+
+    /**
+     * the rows generated by one run, by database id
+     */
+    public static final class Dataset {
+        private final String prefix;
+        private final int[] userIds;
+        private final int[] organizerIds;
+        private final int[] eventIds;
+        private final int[] eventOrganizers;
+        private final int[] eventsByPopularity;
+        private final long registrations;
+
+        Dataset(String prefix, int[] userIds, int[] organizerIds, int[] eventIds, int[] eventOrganizers,
+                int[] eventsByPopularity, long registrations) {
+            this.prefix = prefix;
+            this.userIds = userIds;
+            this.organizerIds = organizerIds;
+            this.eventIds = eventIds;
+            this.eventOrganizers = eventOrganizers;
+            this.eventsByPopularity = eventsByPopularity;
+            this.registrations = registrations;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        // usernames are <prefix>-user-<index> and <prefix>-organizer-<index>
+        public String username(int userIndex) {
+            return prefix + "-user-" + userIndex;
+        }
+
+        public String organizerUsername(int organizerIndex) {
+            return prefix + "-organizer-" + organizerIndex;
+        }
+
+        public int[] getUserIds() {
+            return userIds;
+        }
+
+        public int[] getOrganizerIds() {
+            return organizerIds;
+        }
+
+        public int[] getEventIds() {
+            return eventIds;
+        }
+
+        // the organizer index of each event, parallel to getEventIds
+        public int[] getEventOrganizers() {
+            return eventOrganizers;
+        }
+
+        // event ids, most registered first
+        public int[] getEventsByPopularity() {
+            return eventsByPopularity;
+        }
+
+        public long getRegistrations() {
+            return registrations;
+        }
+    }
+
+    /**
+     * generates the given numbers of users, organizers and events, and about the given number of
+     * registrations (fewer only when the events together cannot seat them)
+     */
+    public Dataset generate(String prefix, int users, int organizers, int events, long registrations, String passwordHash) {
+        if (users <= 0 || organizers <= 0 || events <= 0) {
+            throw new IllegalArgumentException("Dataset needs at least one user, organizer and event");
+        }
+        long started = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+        insertUsers(prefix, "-user-", "USER", users, passwordHash, random);
+        insertUsers(prefix, "-organizer-", "ORGANIZER", organizers, passwordHash, random);
+        int[] userIds = userIds(prefix + "-user-%");
+        int[] organizerIds = userIds(prefix + "-organizer-%");
+
+        // a few organizers and categories account for most events
+        ZipfSampler organizerSampler = new ZipfSampler(organizers, 0.8);
+        ZipfSampler categorySampler = new ZipfSampler(CATEGORIES.size(), 0.7);
+        int[] eventOrganizers = new int[events];
+        int[] capacities = new int[events];
+        LocalDateTime[] createdAt = new LocalDateTime[events];
+        LocalDateTime[] startAt = new LocalDateTime[events];
+        Integer lastEventId = jdbcTemplate.queryForObject("SELECT MAX(event_id) FROM events", Integer.class);
+        BatchWriter eventWriter = new BatchWriter("INSERT INTO events (title, description, location, start_time, end_time, "
+                + "category, organizer_id, max_attendees, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < events; i++) {
+            String category = CATEGORIES.get(categorySampler.sample(random));
+            String format = FORMATS[random.nextInt(FORMATS.length)];
+            String location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+            eventOrganizers[i] = organizerSampler.sample(random);
+            capacities[i] = random.nextDouble() < UNLIMITED_SHARE ? -1 : CAPACITIES[random.nextInt(CAPACITIES.length)];
+            startAt[i] = now.minusDays(30).plusMinutes(15L * random.nextInt(4 * 24 * 210));
+            LocalDateTime created = startAt[i].minusHours(1 + random.nextInt(24 * 60));
+            createdAt[i] = created.isAfter(now) ? now : created;
+            Timestamp createdTimestamp = Timestamp.valueOf(createdAt[i]);
+            eventWriter.add(category + " " + format + " #" + i,
+                    "A " + format.toLowerCase() + " for anyone interested in " + category.toLowerCase()
+                            + ". Bring a friend; refreshments are provided while they last.",
+                    location + ", room " + (100 + random.nextInt(400)),
+                    Timestamp.valueOf(startAt[i]),
+                    Timestamp.valueOf(startAt[i].plusMinutes(60 + 30L * random.nextInt(7))),
+                    category,
+                    organizerIds[eventOrganizers[i]],
+                    capacities[i] < 0 ? null : capacities[i],
+                    createdTimestamp,
+                    createdTimestamp);
+        }
+        eventWriter.flush();
+        int[] eventIds = jdbcTemplate.queryForList("SELECT event_id FROM events WHERE event_id > ? ORDER BY event_id",
+                Integer.class, lastEventId != null ? lastEventId : 0).stream().mapToInt(Integer::intValue).toArray();
+        if (eventIds.length != events) {
+            throw new IllegalStateException("Expected " + events + " new events but found " + eventIds.length);
+        }
+
+        // popularity and activity ranks are shuffled so they do not follow insertion order
+        int[] eventRanks = shuffledIndexes(events, random);
+        int[] userRanks = shuffledIndexes(users, random);
+        ZipfSampler popularity = new ZipfSampler(events, eventPopularityExponent);
+        ZipfSampler activity = new ZipfSampler(users, userActivityExponent);
+        BatchWriter registrationWriter = new BatchWriter("INSERT INTO registrations (user_id, event_id, registration_time) VALUES (?, ?, ?)");
+        int[] eventsByPopularity = new int[events];
+        // demand a full event turns away (and rounding) carries over to the next most popular one
+        double overflow = 0;
+        for (int rank = 0; rank < events; rank++) {
+            int event = eventRanks[rank];
+            eventsByPopularity[rank] = eventIds[event];
+            int limit = capacities[event] < 0 ? users : Math.min(capacities[event], users);
+            double demand = registrations * popularity.probability(rank) + overflow;
+            int attendees = (int) Math.min(limit, Math.round(demand));
+            overflow = demand - attendees;
+            LocalDateTime opens = createdAt[event];
+            long window = Math.max(1, ChronoUnit.MINUTES.between(opens, startAt[event].isBefore(now) ? startAt[event] : now));
+            Set<Integer> registered = new HashSet<>();
+            for (int j = 0; j < attendees; j++) {
+                int user = userRanks[activity.sample(random)];
+                if (!registered.add(user)) {
+                    // an active user picked twice: take anyone, then the next free user
+                    user = random.nextInt(users);
+                    while (!registered.add(user)) {
+                        user = (user + 1) % users;
+                    }
+                }
+                registrationWriter.add(userIds[user], eventIds[event],
+                        Timestamp.valueOf(opens.plusMinutes((long) (random.nextDouble() * window))));
+            }
+        }
+        registrationWriter.flush();
+        // written around RegistrationRepository, so the counts it maintains are set here
+        jdbcTemplate.update("UPDATE events SET registration_count = (SELECT COUNT(*) FROM registrations r WHERE r.event_id = events.event_id), updated_at = updated_at WHERE event_id >= ?",
+                eventIds.length > 0 ? eventIds[0] : 0);
+
+        log.info("Generated {} users, {} organizers, {} events and {} registrations in {} ms", users, organizers, events,
+                registrationWriter.rows, System.currentTimeMillis() - started);
+        return new Dataset(prefix, userIds, organizerIds, eventIds, eventOrganizers, eventsByPopularity, registrationWriter.rows);
+    }
+
+    private void insertUsers(String prefix, String kind, String role, int count, String passwordHash, Random random) {
+        BatchWriter writer = new BatchWriter("INSERT INTO users (username, email, password_hash, first_name, last_name, role) VALUES (?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < count; i++) {
+            String username = prefix + kind + i;
+            writer.add(username, username + "@sjsu.edu", passwordHash,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)], role);
+        }
+        writer.flush();
+    }
+
+    private int[] userIds(String usernamePattern) {
+        return jdbcTemplate.queryForList("SELECT user_id FROM users WHERE username LIKE ? ORDER BY user_id", Integer.class, usernamePattern)
+                .stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] shuffledIndexes(int n, Random random) {
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    /**
+     * buffers rows and writes them with one batched statement per BATCH_SIZE rows
+     */
+    private final class BatchWriter {
+        private final String sql;
+        private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        private long rows;
+
+        BatchWriter(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                rows += batch.size();
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * fills a database from the command line; the schema must exist
+     * for MySQL add rewriteBatchedStatements=true to the url, or every row is its own round trip
+     *
+     * ./mvnw -Ploadtest test-compile exec:java@dataset -Ddataset.events=20000 -Ddataset.registrations=2000000
+     */
+    public static void main(String[] args) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("dataset.url", "jdbc:mysql://localhost:3306/sjsu_events?rewriteBatchedStatements=true"),
+                System.getProperty("dataset.username", "sjsu_user"),
+                System.getProperty("dataset.password", "sjsu_password"));
+        DatasetGenerator generator = new DatasetGenerator(new JdbcTemplate(dataSource), Long.parseLong(System.getProperty("dataset.seed", "42")));
+        generator.setEventPopularityExponent(Double.parseDouble(System.getProperty("dataset.eventPopularityExponent", "1.1")));
+        generator.setUserActivityExponent(Double.parseDouble(System.getProperty("dataset.userActivityExponent", "0.6")));
+        generator.generate(System.getProperty("dataset.prefix", "gen"),
+                Integer.parseInt(System.getProperty("dataset.users", "100000")),
+                Integer.parseInt(System.getProperty("dataset.organizers", "500")),
+                Integer.parseInt(System.getProperty("dataset.events", "10000")),
+                Long.parseLong(System.getProperty("dataset.registrations", "1000000")),
+                new BCryptPasswordEncoder().encode(System.getProperty("dataset.userPassword", "password")));
+    }
+}
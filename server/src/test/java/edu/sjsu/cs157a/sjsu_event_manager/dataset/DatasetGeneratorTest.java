@@ -0,0 +1,105 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dataset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetGeneratorTest {
+
+    // generated once; hashing per row is what the generator avoids
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode("password");
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    private JdbcTemplate database() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        databases.add(database);
+        return new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    public void testGeneratesRequestedScaleWithinCapacity() {
+        JdbcTemplate jdbcTemplate = database();
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(jdbcTemplate, 7).generate("t", 500, 10, 200, 5000, PASSWORD_HASH);
+
+        assertEquals(500, dataset.getUserIds().length);
+        assertEquals(10, dataset.getOrganizerIds().length);
+        assertEquals(200, dataset.getEventIds().length);
+        assertEquals(510, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE role = 'ORGANIZER'", Integer.class));
+        assertEquals(dataset.getRegistrations(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registrations", Long.class));
+        assertEquals(5000, dataset.getRegistrations(), 1);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT e.event_id FROM events e JOIN registrations r "
+                + "ON r.event_id = e.event_id WHERE e.max_attendees IS NOT NULL GROUP BY e.event_id, e.max_attendees "
+                + "HAVING COUNT(*) > e.max_attendees) full_events", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registrations r JOIN events e ON e.event_id = r.event_id "
+                + "WHERE r.registration_time < e.created_at", Integer.class));
+        assertEquals(dataset.getUserIds()[3], jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE username = ?",
+                Integer.class, dataset.username(3)));
+    }
+
+    @Test
+    public void testRegistrationsAreSkewedTowardsPopularEvents() {
+        JdbcTemplate jdbcTemplate = database();
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(jdbcTemplate, 7).generate("t", 2000, 20, 500, 20000, PASSWORD_HASH);
+
+        Map<Integer, Long> counts = new java.util.HashMap<>();
+        jdbcTemplate.query("SELECT event_id, COUNT(*) AS registrations FROM registrations GROUP BY event_id",
+                rs -> { counts.put(rs.getInt("event_id"), rs.getLong("registrations")); });
+        int[] byPopularity = dataset.getEventsByPopularity();
+        long top = 0;
+        long bottom = 0;
+        for (int rank = 0; rank < byPopularity.length / 10; rank++) {
+            top += counts.getOrDefault(byPopularity[rank], 0L);
+            bottom += counts.getOrDefault(byPopularity[byPopularity.length - 1 - rank], 0L);
+        }
+        // the top tenth of the events holds most of the registrations, the bottom tenth hardly any
+        assertTrue(top > dataset.getRegistrations() / 2, top + " of " + dataset.getRegistrations());
+        assertTrue(bottom < dataset.getRegistrations() / 50, bottom + " of " + dataset.getRegistrations());
+    }
+
+    @Test
+    public void testSameSeedGeneratesSameRows() {
+        JdbcTemplate first = database();
+        JdbcTemplate second = database();
+        new DatasetGenerator(first, 11).generate("t", 300, 5, 50, 2000, PASSWORD_HASH);
+        new DatasetGenerator(second, 11).generate("t", 300, 5, 50, 2000, PASSWORD_HASH);
+
+        String registrations = "SELECT user_id, event_id FROM registrations ORDER BY user_id, event_id";
+        String events = "SELECT title, category, organizer_id, max_attendees FROM events ORDER BY event_id";
+        assertEquals(first.queryForList(registrations), second.queryForList(registrations));
+        assertEquals(first.queryForList(events), second.queryForList(events));
+    }
+
+    @Test
+    public void testZipfSamplerFavoursLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+        Random random = new Random(3);
+        int[] hits = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            hits[sampler.sample(random)]++;
+        }
+        assertEquals(sampler.probability(0), hits[0] / 100_000.0, 0.01);
+        assertTrue(hits[0] > 5 * hits[9]);
+    }
+}
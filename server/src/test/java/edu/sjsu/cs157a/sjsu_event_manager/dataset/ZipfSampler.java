@@ -0,0 +1,42 @@
+package edu.sjsu.cs157a.sjsu_event_manager.dataset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent
+ * rank 0 is the most likely; an exponent of 0 is uniform, around 1 is the classic long tail
+ */
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank, got " + n);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.sjsu.cs157a.sjsu_event_manager.loadtest;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dataset.DatasetGenerator;
+import edu.sjsu.cs157a.sjsu_event_manager.dataset.ZipfSampler;
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the users, organizers and events a load test runs against, generated by DatasetGenerator,
+ * plus one event with a small capacity for the flash crowd
+ * every name carries a per-run prefix, so repeated runs against the same (MySQL) database do not collide
+ * authenticated scenarios send pre-issued tokens; only the login scenario pays for password checks
+ */
+final class LoadTestData {
+
+    static final String PASSWORD = "loadtest-password";
+
+    final String prefix = "lt" + Long.toString(System.currentTimeMillis(), 36);
+    final List<String> usernames = new ArrayList<>();
+    final List<String> userTokens = new ArrayList<>();
+    // event ids, most popular first, with the token of each event's organizer
+    final List<Integer> eventIds = new ArrayList<>();
+    final List<String> eventOrganizerTokens = new ArrayList<>();
+    // browsing favours the popular events as registrations do
+    ZipfSampler eventPopularity;
+    // the event every flash-crowd request tries to register for
+    int flashCrowdEventId;
+
+    static LoadTestData seed(JdbcTemplate jdbcTemplate, JwtUtils jwtUtils, String passwordHash, int users, int organizers,
+                             int events, long registrations, int flashCrowdCapacity, long seed) {
+        LoadTestData data = new LoadTestData();
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(jdbcTemplate, seed)
+                .generate(data.prefix, users, organizers, events, registrations, passwordHash);
+
+        for (int i = 0; i < users; i++) {
+            data.usernames.add(dataset.username(i));
+            data.userTokens.add(jwtUtils.generateTokenFromUsername(dataset.username(i)));
+        }
+        List<String> organizerTokens = new ArrayList<>();
+        for (int i = 0; i < organizers; i++) {
+            organizerTokens.add(jwtUtils.generateTokenFromUsername(dataset.organizerUsername(i)));
+        }
+        Map<Integer, Integer> eventOrganizers = new HashMap<>();
+        for (int i = 0; i < events; i++) {
+            eventOrganizers.put(dataset.getEventIds()[i], dataset.getEventOrganizers()[i]);
+        }
+        for (int eventId : dataset.getEventsByPopularity()) {
+            data.eventIds.add(eventId);
+            data.eventOrganizerTokens.add(organizerTokens.get(eventOrganizers.get(eventId)));
+        }
+        data.eventPopularity = new ZipfSampler(events, 1.1);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(7).withNano(0);
+        String title = data.prefix + " flash crowd";
+        jdbcTemplate.update("INSERT INTO events (title, description, location, start_time, end_time, category, organizer_id, max_attendees) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", title, "Limited seats, released all at once.", "Event Center",
+                Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)), DatasetGenerator.CATEGORIES.get(0),
+                dataset.getOrganizerIds()[0], flashCrowdCapacity);
+        data.flashCrowdEventId = jdbcTemplate.queryForObject("SELECT event_id FROM events WHERE title = ?", Integer.class, title);
+        return data;
+    }
+}
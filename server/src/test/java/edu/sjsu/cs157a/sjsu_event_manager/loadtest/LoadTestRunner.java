@@ -0,0 +1,165 @@
+package edu.sjsu.cs157a.sjsu_event_manager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.sjsu.cs157a.sjsu_event_manager.SjsuEventManagerApplication;
+import edu.sjsu.cs157a.sjsu_event_manager.config.FaultInjectingDataSource;
+import edu.sjsu.cs157a.sjsu_event_manager.config.FaultInjector;
+import edu.sjsu.cs157a.sjsu_event_manager.security.jwt.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * boots the application on a random port and drives it with an open-model traffic mix (see OpenModelDriver)
+ * the data comes from DatasetGenerator at -Dloadtest.users/organizers/events/registrations
+ * runs against an in-memory H2 database by default, or the local MySQL from application.properties with
+ * -Dloadtest.database=mysql (the schema must exist; the run adds its own prefixed rows)
+ * the application uses its production settings (src/main/resources), not the test ones
+ * -Dloadtest.faults.* make the database slow or failing once the data is seeded (see FaultInjector.withSystemProperties), e.g.
+ * -Dloadtest.faults.slowSql="COUNT\(\*\) FROM registrations" -Dloadtest.faults.slowSqlLatency=lognormal:20ms:1.0
+ *
+ * ./mvnw -Ploadtest test-compile exec:exec@loadtest -Dloadtest.rate=200 -Dloadtest.mix=flash-crowd=100
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+        long warmupSeconds = Long.parseLong(System.getProperty("loadtest.warmupSeconds", "10"));
+        long durationSeconds = Long.parseLong(System.getProperty("loadtest.durationSeconds", "60"));
+        TrafficMix mix = TrafficMix.parse(System.getProperty("loadtest.mix", "browse=70,login=10,flash-crowd=10,roster=10"));
+        String database = System.getProperty("loadtest.database", "h2");
+        int users = Integer.parseInt(System.getProperty("loadtest.users", "2000"));
+        int organizers = Integer.parseInt(System.getProperty("loadtest.organizers", "50"));
+        int events = Integer.parseInt(System.getProperty("loadtest.events", "500"));
+        long registrations = Long.parseLong(System.getProperty("loadtest.registrations", "10000"));
+        int flashCrowdCapacity = Integer.parseInt(System.getProperty("loadtest.flashCrowdCapacity", "100"));
+        long seed = Long.parseLong(System.getProperty("loadtest.seed", "42"));
+        String result = System.getProperty("loadtest.result", "target/loadtest-result.json");
+        FaultInjector faults = new FaultInjector(seed);
+
+        try (ConfigurableApplicationContext context = start(database, faults)) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestData data = LoadTestData.seed(new JdbcTemplate(context.getBean(DataSource.class)), context.getBean(JwtUtils.class),
+                    context.getBean(PasswordEncoder.class).encode(LoadTestData.PASSWORD),
+                    users, organizers, events, registrations, flashCrowdCapacity, seed);
+            faults.withSystemProperties("loadtest.faults.");
+            log.info("Seeded {} users, {} organizers, {} events and {} registrations on {}; sending {} requests/s for {}s after a {}s warmup",
+                    users, organizers, events, registrations, database, rate, durationSeconds, warmupSeconds);
+
+            Map<Scenario, ScenarioStats> stats;
+            try (HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build()) {
+                Scenario.Target target = new Scenario.Target("http://localhost:" + port, Duration.ofSeconds(30), data);
+                stats = new OpenModelDriver(client, target, mix, rate, seed)
+                        .run(TimeUnit.SECONDS.toNanos(warmupSeconds), TimeUnit.SECONDS.toNanos(durationSeconds));
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("database", database);
+            report.put("targetRatePerSecond", rate);
+            report.put("durationSeconds", durationSeconds);
+            Map<String, Object> scenarios = new LinkedHashMap<>();
+            stats.forEach((scenario, scenarioStats) -> scenarios.put(scenario.label, scenarioStats.summary(durationSeconds)));
+            report.put("scenarios", scenarios);
+            Integer registered = new JdbcTemplate(context.getBean(DataSource.class)).queryForObject(
+                    "SELECT COUNT(*) FROM registrations WHERE event_id = ?", Integer.class, data.flashCrowdEventId);
+            report.put("flashCrowd", Map.of("capacity", flashCrowdCapacity, "registered", registered));
+            report.put("injectedFaults", Map.of("delays", faults.getDelays(), "delayedMs", faults.getDelayedMillis(),
+                    "failures", faults.getFailures()));
+
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            File resultFile = new File(result);
+            objectMapper.writeValue(resultFile, report);
+            System.out.println(objectMapper.writeValueAsString(report));
+            log.info("Wrote load test results to {}", resultFile.getAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, FaultInjector faults) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        // the test classpath shadows application.properties with the test one; load the production file explicitly
+        File classes = new File(SjsuEventManagerApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        properties.put("spring.config.location", new File(classes, "application.properties").toURI().toString());
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.edu.sjsu.cs157a.sjsu_event_manager", "WARN");
+        properties.put("logging.level.edu.sjsu.cs157a.sjsu_event_manager.loadtest", "INFO");
+        switch (database) {
+            case "h2" -> {
+                properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+                properties.put("spring.datasource.username", "sa");
+                properties.put("spring.datasource.password", "");
+                properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+                properties.put("spring.sql.init.mode", "always");
+                properties.put("spring.sql.init.schema-locations", "classpath:schema.sql");
+            }
+            case "mysql" -> properties.put("spring.sql.init.mode", "never");
+            default -> throw new IllegalArgumentException("loadtest.database must be h2 or mysql, got: " + database);
+        }
+        // as command-line arguments, so they override the configuration file
+        String[] args = properties.entrySet().stream().map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(SjsuEventManagerApplication.class)
+                .initializers(context -> {
+                    context.getBeanFactory()
+                            .registerSingleton(TestConfigurationExcludeFilter.class.getName(), new TestConfigurationExcludeFilter());
+                    // on top of the connection pool, and under the application's own statistics wrapper
+                    context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                        @Override
+                        public Object postProcessAfterInitialization(Object bean, String beanName) {
+                            return bean instanceof DataSource dataSource ? new FaultInjectingDataSource(dataSource, faults) : bean;
+                        }
+                    });
+                })
+                .run(args);
+    }
+
+    /**
+     * keeps the test sources' @TestConfiguration classes (the counting test DataSource) out of component scanning,
+     * as the test framework does for @SpringBootTest
+     */
+    private static final class TestConfigurationExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().hasAnnotation(TestConfiguration.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.sjsu.cs157a.sjsu_event_manager.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * sends requests on an open-model schedule: arrivals follow a Poisson process at a fixed rate, whatever
+ * the server's response times, so a slow server faces a growing queue instead of a politely waiting client
+ * each request is timed from its scheduled arrival, so stalls of the server (or of this generator) show up
+ * in the percentiles rather than silently thinning out the load
+ */
+final class OpenModelDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenModelDriver.class);
+
+    private final HttpClient client;
+    private final Scenario.Target target;
+    private final TrafficMix mix;
+    private final double ratePerSecond;
+    private final Random random;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+    private final Map<CompletableFuture<?>, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    OpenModelDriver(HttpClient client, Scenario.Target target, TrafficMix mix, double ratePerSecond, long seed) {
+        this.client = client;
+        this.target = target;
+        this.mix = mix;
+        this.ratePerSecond = ratePerSecond;
+        this.random = new Random(seed);
+        for (Scenario scenario : mix.scenarios()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    /**
+     * generates load for warmup + duration; only arrivals scheduled after the warmup are recorded
+     * returns once every request sent has completed or timed out
+     */
+    Map<Scenario, ScenarioStats> run(long warmupNanos, long durationNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long behindLogged = 0;
+
+        double next = start;
+        while (next < end) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (-wait > TimeUnit.SECONDS.toNanos(1) && intended - behindLogged > TimeUnit.SECONDS.toNanos(10)) {
+                // the latency of what is sent late still counts from its schedule
+                log.warn("Load generator is {} ms behind schedule", TimeUnit.NANOSECONDS.toMillis(-wait));
+                behindLogged = intended;
+            }
+            send(mix.pick(random), intended, intended >= measureFrom);
+            next += -Math.log(1 - random.nextDouble()) * meanIntervalNanos;
+        }
+
+        for (CompletableFuture<?> request : inFlight.keySet()) {
+            try {
+                request.get(1, TimeUnit.MINUTES);
+            } catch (TimeoutException | java.util.concurrent.ExecutionException e) {
+                // recorded by the completion callback
+            }
+        }
+        return stats;
+    }
+
+    private void send(Scenario scenario, long intended, boolean measured) {
+        HttpRequest request = scenario.request(target, random);
+        long sent = System.nanoTime();
+        CompletableFuture<HttpResponse<Void>> response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        inFlight.put(response, Boolean.TRUE);
+        response.whenComplete((result, failure) -> {
+            long done = System.nanoTime();
+            inFlight.remove(response);
+            if (!measured) {
+                return;
+            }
+            ScenarioStats.Outcome outcome;
+            if (failure != null) {
+                outcome = ScenarioStats.Outcome.ERROR;
+            } else if (result.statusCode() < 400) {
+                outcome = ScenarioStats.Outcome.OK;
+            } else if (scenario.rejected(result.statusCode())) {
+                outcome = ScenarioStats.Outcome.REJECTED;
+            } else {
+                outcome = ScenarioStats.Outcome.ERROR;
+            }
+            String answer = failure != null ? rootCause(failure).getClass().getSimpleName() : String.valueOf(result.statusCode());
+            stats.get(scenario).record(intended, sent, done, answer, outcome);
+        });
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
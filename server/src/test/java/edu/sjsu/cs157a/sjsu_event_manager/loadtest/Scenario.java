@@ -0,0 +1,127 @@
+package edu.sjsu.cs157a.sjsu_event_manager.loadtest;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dataset.DatasetGenerator;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * the kinds of traffic a load test mixes; each arrival becomes one request of its scenario
+ */
+enum Scenario {
+
+    // anonymous catalog browsing: the list, a category, or one event (popular ones more often)
+    BROWSE("browse") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            int page = random.nextInt(10);
+            if (page < 4) {
+                return target.get("/api/events").build();
+            }
+            if (page < 7) {
+                String category = pick(DatasetGenerator.CATEGORIES, random);
+                return target.get("/api/events?category=" + URLEncoder.encode(category, StandardCharsets.UTF_8)).build();
+            }
+            return target.get("/api/events/" + target.data.eventIds.get(target.data.eventPopularity.sample(random))).build();
+        }
+    },
+
+    // password logins; each one pays for a BCrypt check
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            String username = pick(target.data.usernames, random);
+            return target.request("/api/auth/login")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + LoadTestData.PASSWORD + "\"}"))
+                    .build();
+        }
+    },
+
+    // everyone registers for the same event; once it is full (or a user comes back) the answer is 409
+    FLASH_CROWD("flash-crowd") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            int user = target.nextFlashCrowdUser.getAndIncrement() % target.data.userTokens.size();
+            return target.request("/api/events/" + target.data.flashCrowdEventId + "/register")
+                    .header("Cookie", "jwt-token=" + target.data.userTokens.get(user))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+
+        @Override
+        boolean rejected(int status) {
+            return status == 409;
+        }
+    },
+
+    // organizers reading the roster of one of their events
+    ROSTER("roster") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            int event = random.nextInt(target.data.eventIds.size());
+            return target.get("/api/events/" + target.data.eventIds.get(event) + "/registrations")
+                    .header("Cookie", "jwt-token=" + target.data.eventOrganizerTokens.get(event))
+                    .build();
+        }
+    };
+
+    /**
+     * the server under test and the data seeded into it
+     */
+    static final class Target {
+        private final String baseUrl;
+        private final Duration timeout;
+        final LoadTestData data;
+        private final AtomicInteger nextFlashCrowdUser = new AtomicInteger();
+
+        Target(String baseUrl, Duration timeout, LoadTestData data) {
+            this.baseUrl = baseUrl;
+            this.timeout = timeout;
+            this.data = data;
+        }
+
+        HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        }
+
+        HttpRequest.Builder get(String path) {
+            return request(path).GET();
+        }
+    }
+
+    final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    abstract HttpRequest request(Target target, Random random);
+
+    /**
+     * a response the scenario expects under contention (counted apart from errors)
+     */
+    boolean rejected(int status) {
+        return false;
+    }
+
+    static Scenario of(String label) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equals(label)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + label);
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,77 @@
+package edu.sjsu.cs157a.sjsu_event_manager.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * latency and outcomes of one scenario's measured requests
+ * latency is taken twice: from the moment the arrival schedule intended to send the request
+ * (corrected for coordinated omission, what a user would have waited) and from the moment it was
+ * actually sent (service time only, which understates the tail whenever the generator falls behind)
+ */
+final class ScenarioStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder intended = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder service = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    // status code, or the exception's simple name when no response came back
+    private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+
+    void record(long intendedNanos, long sentNanos, long doneNanos, String response, Outcome outcome) {
+        intended.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, doneNanos - intendedNanos)));
+        service.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, doneNanos - sentNanos)));
+        requests.increment();
+        responses.computeIfAbsent(response, key -> new LongAdder()).increment();
+        switch (outcome) {
+            case REJECTED -> rejected.increment();
+            case ERROR -> errors.increment();
+            default -> { }
+        }
+    }
+
+    enum Outcome { OK, REJECTED, ERROR }
+
+    /**
+     * the summary reported for the run, latencies in milliseconds
+     */
+    Map<String, Object> summary(double measuredSeconds) {
+        Histogram latency = intended.getIntervalHistogram();
+        Histogram serviceTime = service.getIntervalHistogram();
+        long count = requests.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("throughputPerSecond", round(count / measuredSeconds));
+        summary.put("rejected", rejected.sum());
+        summary.put("errors", errors.sum());
+        summary.put("errorRate", count == 0 ? 0.0 : round((double) errors.sum() / count));
+        summary.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+        summary.put("p90Ms", millis(latency.getValueAtPercentile(90)));
+        summary.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(latency.getMaxValue()));
+        summary.put("serviceTimeP99Ms", millis(serviceTime.getValueAtPercentile(99)));
+        Map<String, Long> responseCounts = new TreeMap<>();
+        responses.forEach((response, adder) -> responseCounts.put(response, adder.sum()));
+        summary.put("responses", responseCounts);
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.sjsu.cs157a.sjsu_event_manager.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * weighted scenarios, parsed from "browse=70,login=10,flash-crowd=10,roster=10"
+ */
+final class TrafficMix {
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+
+    private TrafficMix(Map<Scenario, Integer> weights) {
+        scenarios = weights.keySet().toArray(new Scenario[0]);
+        cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static TrafficMix parse(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.merge(Scenario.of(parts[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix has no scenario with a positive weight: " + mix);
+        }
+        return new TrafficMix(weights);
+    }
+
+    Scenario pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < scenarios.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    Scenario[] scenarios() {
+        return scenarios.clone();
+    }
+}
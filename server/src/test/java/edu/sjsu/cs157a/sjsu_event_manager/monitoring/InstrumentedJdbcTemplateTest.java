@@ -0,0 +1,47 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedJdbcTemplateTest {
+
+    private final InstrumentedJdbcTemplate jdbcTemplate = new InstrumentedJdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:jfr;DB_CLOSE_DELAY=-1", "sa", ""), "TestRepository");
+
+    @Test
+    public void testStatementsAreRecordedWhenEnabled() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY)");
+        Path file = Files.createTempFile("jdbc-statements-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(JdbcStatementEvent.class);
+            recording.start();
+            jdbcTemplate.update("INSERT INTO items (id) VALUES (?)", 1);
+            jdbcTemplate.queryForList("SELECT id FROM items WHERE id = ?", Integer.class, 1);
+            assertThrows(RuntimeException.class, () -> jdbcTemplate.update("INSERT INTO items (id) VALUES (?)", 1));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("edu.sjsu.cs157a.JdbcStatement"))
+                    .toList();
+            assertEquals(3, events.size());
+            assertEquals("TestRepository", events.get(0).getString("repository"));
+            assertEquals("INSERT INTO items (id) VALUES (?)", events.get(0).getString("sql"));
+            assertEquals(1, events.get(0).getLong("rows"));
+            assertEquals("SELECT id FROM items WHERE id = ?", events.get(1).getString("sql"));
+            assertFalse(events.get(1).getBoolean("failed"));
+            assertTrue(events.get(2).getBoolean("failed"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.HotKeyDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingTopKTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final SlidingTopK topK = new SlidingTopK(60_000, 6, 10, now::get);
+
+    @Test
+    public void testFindsHotKeysAmongALongTail() {
+        for (int i = 0; i < 5_000; i++) {
+            topK.record("tail-" + i);
+            if (i % 10 == 0) {
+                topK.record("hot");
+            }
+            if (i % 25 == 0) {
+                topK.record("warm");
+            }
+        }
+        List<HotKeyDTO> top = topK.top(2);
+        assertEquals("hot", top.get(0).getKey());
+        assertTrue(top.get(0).getEstimatedCount() >= 500);
+        assertEquals("warm", top.get(1).getKey());
+        assertTrue(top.get(1).getEstimatedCount() >= 200);
+    }
+
+    @Test
+    public void testCountsExpireWithTheWindow() {
+        for (int i = 0; i < 100; i++) {
+            topK.record("old");
+        }
+        now.addAndGet(30_000);
+        topK.record("new");
+        assertEquals(100, topK.top(1).get(0).getEstimatedCount());
+
+        // a full window later only the newer key is left
+        now.addAndGet(40_000);
+        List<HotKeyDTO> top = topK.top(10);
+        assertEquals(1, top.size());
+        assertEquals("new", top.get(0).getKey());
+    }
+
+    @Test
+    public void testKeysWithEqualStringHashesAreCountedApart() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        for (int i = 0; i < 100; i++) {
+            topK.record("Aa");
+        }
+        topK.record("BB");
+        List<HotKeyDTO> top = topK.top(2);
+        assertEquals("Aa", top.get(0).getKey());
+        assertEquals(100, top.get(0).getEstimatedCount());
+        assertEquals("BB", top.get(1).getKey());
+        assertEquals(1, top.get(1).getEstimatedCount());
+    }
+
+    @Test
+    public void testConcurrentRecordersLoseNoCounts() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService recorders = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                done.add(recorders.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        topK.record(i % 4 == 0 ? "hot" : "tail-" + thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            recorders.shutdownNow();
+        }
+        HotKeyDTO hottest = topK.top(1).get(0);
+        assertEquals("hot", hottest.getKey());
+        // count-min never underestimates, and no bucket was cleared while recording
+        assertTrue(hottest.getEstimatedCount() >= threads * perThread / 4, String.valueOf(hottest.getEstimatedCount()));
+        assertEquals(10, topK.top(100).size());
+    }
+}
@@ -0,0 +1,59 @@
+package edu.sjsu.cs157a.sjsu_event_manager.monitoring;
+
+import edu.sjsu.cs157a.sjsu_event_manager.dto.SqlStatementStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementStatsTest {
+
+    private final SqlStatementStats stats = new SqlStatementStats(0, 1);
+    private final StatisticsDataSource dataSource = new StatisticsDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1", "sa", ""), stats);
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @Test
+    public void testFingerprintReplacesLiteralsAndInLists() {
+        assertEquals("SELECT * FROM events WHERE event_id IN (?, ...) AND title = ? LIMIT ?",
+                SqlStatementStats.fingerprint("SELECT *  FROM events\n  WHERE event_id IN (1, 2, 3) AND title = 'It''s' LIMIT 10"));
+        assertEquals("SELECT * FROM events WHERE event_id IN (?, ...)",
+                SqlStatementStats.fingerprint("SELECT * FROM events WHERE event_id IN (?,?, ?)"));
+        assertEquals("SELECT user_id2 FROM t1", SqlStatementStats.fingerprint("SELECT user_id2 FROM t1"));
+    }
+
+    @Test
+    public void testStatementsAreAggregatedByFingerprint() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY)");
+        jdbcTemplate.update("DELETE FROM items");
+        stats.reset();
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            for (int i = 1; i <= 3; i++) {
+                jdbcTemplate.update("INSERT INTO items (id) VALUES (?)", i);
+            }
+        });
+        jdbcTemplate.queryForList("SELECT id FROM items WHERE id IN (1, 2)", Integer.class);
+        jdbcTemplate.queryForList("SELECT id FROM items WHERE id IN (1, 2, 3)", Integer.class);
+        assertThrows(RuntimeException.class, () -> jdbcTemplate.update("INSERT INTO items (id) VALUES (?)", 1));
+
+        List<SqlStatementStatsDTO> byCalls = stats.top(10, "calls");
+        SqlStatementStatsDTO insert = byCalls.get(0);
+        assertEquals("INSERT INTO items (id) VALUES (?)", insert.getFingerprint());
+        assertEquals(4, insert.getCalls());
+        assertEquals(1, insert.getErrors());
+        assertEquals(3, insert.getRows());
+        assertEquals(4, insert.getSlowCalls());
+        assertTrue(insert.getMaxMs() > 0);
+
+        SqlStatementStatsDTO select = byCalls.get(1);
+        assertEquals("SELECT id FROM items WHERE id IN (?, ...)", select.getFingerprint());
+        assertEquals(2, select.getCalls());
+        assertEquals(5, select.getRows());
+        assertThrows(IllegalArgumentException.class, () -> stats.top(10, "unknown"));
+    }
+}
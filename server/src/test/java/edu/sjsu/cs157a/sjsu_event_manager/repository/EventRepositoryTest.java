@@ -1,7 +1,10 @@
 package edu.sjsu.cs157a.sjsu_event_manager.repository;
 
 import edu.sjsu.cs157a.sjsu_event_manager.config.TestConfig;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.CategorySummaryDTO;
 import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.EventVersion;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Registration;
 import edu.sjsu.cs157a.sjsu_event_manager.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +13,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +32,9 @@ public class EventRepositoryTest {
 
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
     
     @Autowired
     private JdbcTemplate jdbcTemplate;
@@ -66,6 +74,66 @@ public class EventRepositoryTest {
         assertTrue(event.isPresent());
     }
 
+    @Test
+    public void testFindByIdIsCachedAndEvictedOnWrite() {
+        // tests run inside a mock web request; take its identity map out of play
+        RequestContextHolder.resetRequestAttributes();
+        Event first = eventRepository.findById(testEvent.getEventId()).orElseThrow();
+        first.setTitle("Mutated by caller");
+        // changed behind the repository's back: the cached row is served
+        jdbcTemplate.update("UPDATE events SET location = 'elsewhere' WHERE event_id = ?", testEvent.getEventId());
+        Event cached = eventRepository.findById(testEvent.getEventId()).orElseThrow();
+        assertEquals("Test Event", cached.getTitle());
+        assertEquals("loc", cached.getLocation());
+
+        eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Changed"), null, null);
+        Event reloaded = eventRepository.findById(testEvent.getEventId()).orElseThrow();
+        assertEquals("Changed", reloaded.getTitle());
+        assertEquals("elsewhere", reloaded.getLocation());
+
+        eventRepository.deleteById(testEvent.getEventId());
+        assertFalse(eventRepository.findById(testEvent.getEventId()).isPresent());
+    }
+
+    @Test
+    public void testFindCurrentByIdSkipsTheNearCache() {
+        RequestContextHolder.resetRequestAttributes();
+        eventRepository.findById(testEvent.getEventId()).orElseThrow();
+        jdbcTemplate.update("UPDATE events SET location = 'elsewhere', version = version + 1 WHERE event_id = ?", testEvent.getEventId());
+        assertEquals("loc", eventRepository.findById(testEvent.getEventId()).orElseThrow().getLocation());
+
+        Event current = eventRepository.findCurrentById(testEvent.getEventId()).orElseThrow();
+        assertEquals("elsewhere", current.getLocation());
+        assertEquals(1, current.getVersion());
+        assertEquals(organizerUser.getUserId(), current.getOrganizer().getUserId());
+        assertFalse(eventRepository.findCurrentById(-1).isPresent());
+    }
+
+    @Test
+    public void testLockByIdReadsTheStoredCapacity() {
+        RequestContextHolder.resetRequestAttributes();
+        assertEquals(10, eventRepository.findById(testEvent.getEventId()).orElseThrow().getMaxAttendees());
+        jdbcTemplate.update("UPDATE events SET max_attendees = 3 WHERE event_id = ?", testEvent.getEventId());
+
+        Event locked = eventRepository.lockById(testEvent.getEventId()).orElseThrow();
+        assertEquals(3, locked.getMaxAttendees());
+        assertEquals(organizerUser.getUserId(), locked.getOrganizer().getUserId());
+        assertFalse(eventRepository.lockById(-1).isPresent());
+    }
+
+    @Test
+    public void testOrganizerWritesEvictCachedEvents() {
+        RequestContextHolder.resetRequestAttributes();
+        assertEquals("organizer", eventRepository.findById(testEvent.getEventId()).orElseThrow().getOrganizer().getUsername());
+
+        organizerUser.setUsername("renamed");
+        userRepository.save(organizerUser);
+        assertEquals("renamed", eventRepository.findById(testEvent.getEventId()).orElseThrow().getOrganizer().getUsername());
+
+        userRepository.deleteById(organizerUser.getUserId());
+        assertFalse(eventRepository.findById(testEvent.getEventId()).isPresent());
+    }
+
     @Test
     public void testFindByOrganizerId() {
         List<Event> events = eventRepository.findByOrganizerId(organizerUser.getUserId());
@@ -76,6 +144,18 @@ public class EventRepositoryTest {
     public void testFindByCategoryIgnoreCase() {
         List<Event> events = eventRepository.findByCategoryIgnoreCase("category");
         assertNotNull(events);
+        assertEquals(1, events.size());
+        assertEquals(1, eventRepository.findByCategoryIgnoreCase("CATEGORY").size());
+        assertTrue(eventRepository.findByCategoryIgnoreCase("other").isEmpty());
+    }
+
+    @Test
+    public void testCountUpcomingByCategory() {
+        List<CategorySummaryDTO> summaries = eventRepository.countUpcomingByCategory(LocalDateTime.now().minusDays(1));
+        assertEquals(1, summaries.size());
+        assertEquals("category", summaries.get(0).getCategoryKey());
+        assertEquals(1, summaries.get(0).getUpcomingEventCount());
+        assertTrue(eventRepository.countUpcomingByCategory(LocalDateTime.now().plusDays(1)).isEmpty());
     }
 
     @Test
@@ -84,11 +164,75 @@ public class EventRepositoryTest {
         assertNotNull(events);
     }
 
+    @Test
+    public void testSaveInsertReturnsGeneratedValues() {
+        assertNotNull(testEvent.getEventId());
+        assertNotNull(testEvent.getCreatedAt());
+        assertNotNull(testEvent.getUpdatedAt());
+        assertEquals(organizerUser.getUserId(), testEvent.getOrganizer().getUserId());
+        assertEquals("organizer", testEvent.getOrganizer().getUsername());
+    }
+
     @Test
     public void testSaveUpdate() {
         testEvent.setTitle("Updated");
         Event updatedEvent = eventRepository.save(testEvent);
         assertEquals("Updated", updatedEvent.getTitle());
+        assertNotNull(updatedEvent.getUpdatedAt());
+        assertEquals(1, updatedEvent.getVersion());
+        assertEquals("Updated", eventRepository.findById(testEvent.getEventId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testUpdateColumns() {
+        int updated = eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Patched"), organizerUser.getUserId(), null);
+        assertEquals(1, updated);
+        Event event = eventRepository.findById(testEvent.getEventId()).orElseThrow();
+        assertEquals("Patched", event.getTitle());
+        assertEquals("desc", event.getDescription());
+    }
+
+    @Test
+    public void testUpdateColumnsRejectsOtherOrganizer() {
+        int updated = eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Patched"), organizerUser.getUserId() + 1, null);
+        assertEquals(0, updated);
+        assertEquals("Test Event", eventRepository.findById(testEvent.getEventId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testUpdateColumnsRejectsInvertedTimes() {
+        LocalDateTime afterEnd = testEvent.getEndTime().plusDays(1);
+        assertEquals(0, eventRepository.updateColumns(testEvent.getEventId(), Map.of("start_time", afterEnd), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventRepository.updateColumns(testEvent.getEventId(), Map.of("organizer_id", 1), null, null));
+    }
+
+    @Test
+    public void testUpdateColumnsChecksVersion() {
+        assertEquals(0, testEvent.getVersion());
+        assertEquals(1, eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "First"), null, 0));
+        assertEquals(0, eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Second"), null, 0));
+        Event event = eventRepository.findById(testEvent.getEventId()).orElseThrow();
+        assertEquals("First", event.getTitle());
+        assertEquals(1, event.getVersion());
+    }
+
+    @Test
+    public void testFindVersions() {
+        registrationRepository.save(new Registration(organizerUser, testEvent));
+        List<EventVersion> versions = eventRepository.findVersions();
+        assertEquals(1, versions.size());
+        assertEquals(testEvent.getEventId(), versions.get(0).getEventId());
+        assertEquals(0, versions.get(0).getVersion());
+        assertEquals(1, versions.get(0).getRegistrationCount());
+        assertEquals(organizerUser.getUsername(), versions.get(0).getOrganizerUsername());
+        assertEquals(1, eventRepository.findVersionsByCategoryIgnoreCase("CATEGORY").size());
+        assertTrue(eventRepository.findVersionsByCategoryIgnoreCase("other").isEmpty());
+
+        eventRepository.updateColumns(testEvent.getEventId(), Map.of("title", "Changed"), null, null);
+        EventVersion version = eventRepository.findVersionById(testEvent.getEventId()).orElseThrow();
+        assertEquals(1, version.getVersion());
+        assertFalse(eventRepository.findVersionById(testEvent.getEventId() + 1).isPresent());
     }
 
     @Test
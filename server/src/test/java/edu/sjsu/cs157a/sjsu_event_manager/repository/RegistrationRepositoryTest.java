@@ -15,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -88,6 +89,12 @@ public class RegistrationRepositoryTest {
         assertNotNull(regs);
     }
 
+    @Test
+    public void testFindEventIdsByUserId() {
+        assertEquals(Set.of(testEvent.getEventId()), registrationRepository.findEventIdsByUserId(testUser.getUserId()));
+        assertTrue(registrationRepository.findEventIdsByUserId(testUser.getUserId() + 1).isEmpty());
+    }
+
     @Test
     public void testExistsByUserAndEvent() {
         assertTrue(registrationRepository.existsByUserAndEvent(testUser.getUserId(), testEvent.getEventId()));
@@ -118,4 +125,43 @@ public class RegistrationRepositoryTest {
         Optional<Registration> reg = registrationRepository.findById(testRegistration.getRegistrationId());
         assertFalse(reg.isPresent());
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testRegistrationCountFollowsSavesAndDeletes() {
+        assertEquals(1, eventRepository.findVersionById(testEvent.getEventId()).orElseThrow().getRegistrationCount());
+        testRegistration.setRegistrationTime(LocalDateTime.now().plusDays(1));
+        registrationRepository.save(testRegistration);
+        assertEquals(1, eventRepository.findVersionById(testEvent.getEventId()).orElseThrow().getRegistrationCount());
+        registrationRepository.deleteById(testRegistration.getRegistrationId());
+        assertEquals(0, eventRepository.findVersionById(testEvent.getEventId()).orElseThrow().getRegistrationCount());
+    }
+
+    @Test
+    public void testRegistrationCountLeavesUpdatedAtAlone() {
+        // the test schema has MySQL's ON UPDATE CURRENT_TIMESTAMP, so any other update would move it
+        LocalDateTime past = LocalDateTime.of(2020, 1, 1, 0, 0);
+        jdbcTemplate.update("UPDATE events SET updated_at = ? WHERE event_id = ?", past, testEvent.getEventId());
+
+        User other = new User();
+        other.setUsername("otheruser");
+        other.setEmail("other@test.com");
+        other.setPasswordHash("hash");
+        other.setFirstName("Other");
+        other.setLastName("User");
+        other.setRole(User.Role.USER);
+        other = userRepository.save(other);
+        Registration registration = new Registration();
+        registration.setUser(other);
+        registration.setEvent(testEvent);
+        registration.setRegistrationTime(LocalDateTime.now());
+        registrationRepository.save(registration);
+        registrationRepository.deleteById(testRegistration.getRegistrationId());
+        userRepository.deleteById(other.getUserId());
+
+        assertEquals(0, eventRepository.findVersionById(testEvent.getEventId()).orElseThrow().getRegistrationCount());
+        assertEquals(past, jdbcTemplate.queryForObject("SELECT updated_at FROM events WHERE event_id = ?", LocalDateTime.class, testEvent.getEventId()));
+
+        jdbcTemplate.update("UPDATE events SET location = 'elsewhere' WHERE event_id = ?", testEvent.getEventId());
+        assertNotEquals(past, jdbcTemplate.queryForObject("SELECT updated_at FROM events WHERE event_id = ?", LocalDateTime.class, testEvent.getEventId()));
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +25,8 @@ public class UserRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     private User testUser;
 
     @BeforeEach
@@ -46,6 +50,25 @@ public class UserRepositoryTest {
         assertTrue(user.isPresent());
     }
 
+    @Test
+    public void testFindByIdIsMemoizedWithinTransaction() {
+        // tests run inside a mock web request; leave only the transaction as the unit of work
+        RequestContextHolder.resetRequestAttributes();
+        transactionTemplate.executeWithoutResult(status -> {
+            User first = userRepository.findById(testUser.getUserId()).orElseThrow();
+            assertSame(first, userRepository.findById(testUser.getUserId()).orElseThrow());
+
+            first.setFirstName("Renamed");
+            userRepository.save(first);
+            User reloaded = userRepository.findById(testUser.getUserId()).orElseThrow();
+            assertNotSame(first, reloaded);
+            assertEquals("Renamed", reloaded.getFirstName());
+        });
+        // a new unit of work starts from the database
+        User outside = userRepository.findById(testUser.getUserId()).orElseThrow();
+        assertNotSame(outside, userRepository.findById(testUser.getUserId()).orElseThrow());
+    }
+
     @Test
     public void testFindByUsername() {
         Optional<User> user = userRepository.findByUsername("testuser");
@@ -74,11 +97,19 @@ public class UserRepositoryTest {
         assertTrue(userRepository.existsByEmail("user@test.com"));
     }
 
+    @Test
+    public void testSaveInsertReturnsGeneratedValues() {
+        assertNotNull(testUser.getUserId());
+        assertNotNull(testUser.getCreatedAt());
+        assertNotNull(testUser.getUpdatedAt());
+    }
+
     @Test
     public void testSaveUpdate() {
         testUser.setFirstName("Updated");
         User updatedUser = userRepository.save(testUser);
         assertEquals("Updated", updatedUser.getFirstName());
+        assertEquals("Updated", userRepository.findById(testUser.getUserId()).orElseThrow().getFirstName());
     }
 
     @Test
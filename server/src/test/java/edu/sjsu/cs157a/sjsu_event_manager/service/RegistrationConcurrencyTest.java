@@ -0,0 +1,268 @@
+package edu.sjsu.cs157a.sjsu_event_manager.service;
+
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestConfig;
+import edu.sjsu.cs157a.sjsu_event_manager.config.TestData;
+import edu.sjsu.cs157a.sjsu_event_manager.dto.SqlStatementStatsDTO;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ConflictException;
+import edu.sjsu.cs157a.sjsu_event_manager.exception.ResourceNotFoundException;
+import edu.sjsu.cs157a.sjsu_event_manager.model.Event;
+import edu.sjsu.cs157a.sjsu_event_manager.model.User;
+import edu.sjsu.cs157a.sjsu_event_manager.monitoring.SqlStatementStats;
+import edu.sjsu.cs157a.sjsu_event_manager.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * registrations and deregistrations racing for the same events through EventService
+ * capacity must hold at every moment, and every successful deregistration must stick
+ * each run logs its throughput and how long registrations waited for the event lock
+ */
+@SpringBootTest
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+public class RegistrationConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SqlStatementStats sqlStatementStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private User organizer;
+    private TransactionTemplate snapshotReads;
+
+    @BeforeEach
+    public void setUp() {
+        testData.clear();
+        eventRepository.clearCache();
+        sqlStatementStats.reset();
+        organizer = testData.saveUser("organizer", User.Role.ORGANIZER);
+        executor = Executors.newFixedThreadPool(THREADS);
+        snapshotReads = new TransactionTemplate(transactionManager);
+        snapshotReads.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotReads.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Event saveEvent(String title, int maxAttendees) {
+        return testData.saveEvent(title, organizer, LocalDateTime.now().plusDays(1), maxAttendees);
+    }
+
+    private long registrations(Event event) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM registrations WHERE event_id = ?", Long.class, event.getEventId());
+    }
+
+    // counted from one snapshot: a plain read-committed scan on H2 can see a deregistration's row and the
+    // registration that replaced it, and report one more than ever existed together
+    private long registrationsAtOnce(Event event) {
+        Long count = snapshotReads.execute(status -> registrations(event));
+        return count != null ? count : 0;
+    }
+
+    // releases every task at once, waits for all of them, and rethrows the first unexpected failure
+    private void runTogether(List<Callable<Void>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+    }
+
+    private void report(String run, int operations, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        SqlStatementStatsDTO lock = sqlStatementStats.top(200, "total").stream()
+                .filter(stats -> stats.getFingerprint().contains("FOR UPDATE"))
+                .findFirst().orElse(null);
+        log.info("{}: {} operations in {} ms ({} per second); event lock taken {} times, waited {} ms in total, {} ms at most",
+                run, operations, Math.round(seconds * 1000), Math.round(operations / seconds),
+                lock != null ? lock.getCalls() : 0, lock != null ? Math.round(lock.getTotalMs()) : 0,
+                lock != null ? Math.round(lock.getMaxMs()) : 0);
+    }
+
+    @Test
+    public void testConcurrentRegistrationsNeverOversell() throws Exception {
+        List<User> users = testData.saveUsers(300);
+        List<Event> events = List.of(saveEvent("Small", 10), saveEvent("Medium", 50), saveEvent("Large", 200));
+        Map<Integer, AtomicInteger> registered = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> turnedAway = new ConcurrentHashMap<>();
+        events.forEach(event -> {
+            registered.put(event.getEventId(), new AtomicInteger());
+            turnedAway.put(event.getEventId(), new AtomicInteger());
+        });
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (User user : users) {
+            for (Event event : events) {
+                tasks.add(() -> {
+                    try {
+                        eventService.registerForEvent(event.getEventId(), user);
+                        registered.get(event.getEventId()).incrementAndGet();
+                    } catch (ConflictException e) {
+                        turnedAway.get(event.getEventId()).incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        long started = System.nanoTime();
+        runTogether(tasks);
+        report("Registration rush", tasks.size(), System.nanoTime() - started);
+
+        for (Event event : events) {
+            int capacity = event.getMaxAttendees();
+            assertEquals(capacity, registered.get(event.getEventId()).get(), event.getTitle() + " successes");
+            assertEquals(users.size() - capacity, turnedAway.get(event.getEventId()).get(), event.getTitle() + " rejections");
+            assertEquals(capacity, registrations(event), event.getTitle() + " rows");
+        }
+    }
+
+    @Test
+    public void testRegistrationsAndDeregistrationsStayConsistent() throws Exception {
+        int capacity = 40;
+        int rounds = 10;
+        List<User> users = testData.saveUsers(120);
+        Event event = saveEvent("Churn", capacity);
+
+        // one task per user, so each user's operations happen in order and their final state is known
+        Map<Integer, Boolean> expectedRegistered = new ConcurrentHashMap<>();
+        AtomicLong operations = new AtomicLong();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (User user : users) {
+            tasks.add(() -> {
+                Random random = new Random(user.getUserId());
+                boolean isRegistered = false;
+                for (int round = 0; round < rounds; round++) {
+                    if (!isRegistered) {
+                        try {
+                            eventService.registerForEvent(event.getEventId(), user);
+                            isRegistered = true;
+                        } catch (ConflictException e) {
+                            assertEquals("Event is full.", e.getMessage());
+                        }
+                    } else if (random.nextBoolean()) {
+                        eventService.deregisterFromEvent(event.getEventId(), user);
+                        isRegistered = false;
+                    }
+                    operations.incrementAndGet();
+                }
+                expectedRegistered.put(user.getUserId(), isRegistered);
+                return null;
+            });
+        }
+
+        // watch the count while the churn runs
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong highest = new AtomicLong();
+        Thread watcher = new Thread(() -> {
+            while (running.get()) {
+                highest.accumulateAndGet(registrationsAtOnce(event), Math::max);
+            }
+        });
+        watcher.start();
+        long started = System.nanoTime();
+        try {
+            runTogether(tasks);
+        } finally {
+            running.set(false);
+            watcher.join();
+        }
+        report("Registration churn", (int) operations.get(), System.nanoTime() - started);
+
+        assertTrue(highest.get() <= capacity, "saw " + highest.get() + " registrations for " + capacity + " places");
+        Set<Integer> expected = new HashSet<>();
+        expectedRegistered.forEach((userId, isRegistered) -> {
+            if (isRegistered) {
+                expected.add(userId);
+            }
+        });
+        Set<Integer> actual = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM registrations WHERE event_id = ?", Integer.class, event.getEventId()));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testConcurrentDeregistrationsOfOneUserSucceedOnce() throws Exception {
+        User user = testData.saveUsers(1).get(0);
+        Event event = saveEvent("Double click", 5);
+        eventService.registerForEvent(event.getEventId(), user);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger notFound = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                try {
+                    eventService.deregisterFromEvent(event.getEventId(), user);
+                    succeeded.incrementAndGet();
+                } catch (ResourceNotFoundException e) {
+                    notFound.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runTogether(tasks);
+
+        assertEquals(1, succeeded.get());
+        assertEquals(THREADS - 1, notFound.get());
+        assertEquals(0, registrations(event));
+    }
+}
@@ -13,7 +13,7 @@ CREATE TABLE users (
     last_name VARCHAR(50) NOT NULL,
     role VARCHAR(20) NOT NULL DEFAULT 'USER',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 -- Create events table
@@ -25,13 +25,18 @@ CREATE TABLE events (
     start_time TIMESTAMP NOT NULL,
     end_time TIMESTAMP NOT NULL,
     category VARCHAR(100) NOT NULL,
+    category_key VARCHAR(100) GENERATED ALWAYS AS (LOWER(category)),
     organizer_id INT NOT NULL,
     max_attendees INT NULL,
+    version INT NOT NULL DEFAULT 0,
+    registration_count INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (organizer_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_events_category_key_start ON events (category_key, start_time);
+
 -- Create registrations table
 CREATE TABLE registrations (
     registration_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -18,4 +18,7 @@ VALUES
 (3, 1, '2023-11-15 12:00:00'),
 (3, 2, '2023-11-16 10:30:00'),
 (1, 3, '2023-11-17 09:45:00'),
-(2, 3, '2023-11-18 14:20:00'); 
\ No newline at end of file
+(2, 3, '2023-11-18 14:20:00'); 
+
+-- bulk inserts bypass the application, so set the registration counts it normally maintains
+UPDATE events SET registration_count = (SELECT COUNT(*) FROM registrations r WHERE r.event_id = events.event_id), updated_at = updated_at;